@@ -7,6 +7,9 @@ plugins {
 	id("org.sonarqube") version "7.0.1.6134"
 }
 
+// Spring AOT (processAot): ships with the Spring Boot plugin, used by the Docker image
+apply(plugin = "org.springframework.boot.aot")
+
 group = "hexlet.code"
 version = "0.0.1-SNAPSHOT"
 
@@ -24,17 +27,41 @@ repositories {
 	mavenCentral()
 }
 
+// JMH microbenchmarks in src/jmh/java, run with ./gradlew jmh;
+// HTTP load tests in src/loadTest/java, run with ./gradlew loadTest against a running instance
+sourceSets {
+	create("jmh") {
+		compileClasspath += sourceSets.main.get().output
+		runtimeClasspath += sourceSets.main.get().output
+	}
+	create("loadTest")
+}
+
+configurations {
+	named("jmhImplementation") { extendsFrom(configurations.implementation.get()) }
+	named("jmhRuntimeOnly") { extendsFrom(configurations.runtimeOnly.get()) }
+}
+
 dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
 	implementation("org.springframework.boot:spring-boot-starter-web")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
 	implementation("org.springframework.boot:spring-boot-starter-security")
 	implementation("org.springframework.boot:spring-boot-starter-oauth2-resource-server")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	implementation("org.springframework.boot:spring-boot-starter-aop")
+	implementation("org.hibernate.orm:hibernate-micrometer")
+	implementation("net.ttddyy:datasource-proxy:1.11.0")
+	implementation("org.springframework:spring-r2dbc")
+	implementation("io.r2dbc:r2dbc-pool")
 	implementation("org.openapitools:jackson-databind-nullable:0.2.6")
 	implementation("org.mapstruct:mapstruct:1.5.5.Final")
 	implementation("net.datafaker:datafaker:2.0.2")
 	runtimeOnly("org.postgresql:postgresql")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 	runtimeOnly ("com.h2database:h2")
+	runtimeOnly("org.postgresql:r2dbc-postgresql")
+	runtimeOnly("io.r2dbc:r2dbc-h2")
 	compileOnly("org.projectlombok:lombok")
 	annotationProcessor("org.projectlombok:lombok")
 	annotationProcessor("org.projectlombok:lombok-mapstruct-binding:0.2.0")
@@ -45,6 +72,10 @@ dependencies {
 	testImplementation("net.javacrumbs.json-unit:json-unit-assertj:2.38.0")
 	testImplementation("net.datafaker:datafaker:2.0.2")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+	"jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+	"jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+	"loadTestImplementation"("com.fasterxml.jackson.core:jackson-databind")
+	"loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
 }
 
 tasks.withType<Test> {
@@ -52,6 +83,45 @@ tasks.withType<Test> {
 	finalizedBy(tasks.jacocoTestReport)
 }
 
+// -Pjmh.include=<regex> selects benchmarks, -Pjmh.args passes further JMH options (e.g. "-f 1 -wi 2")
+tasks.register<JavaExec>("jmh") {
+	group = "benchmark"
+	description = "Runs the JMH benchmarks and writes build/reports/jmh/results.json"
+	classpath = sourceSets["jmh"].runtimeClasspath
+	mainClass = "org.openjdk.jmh.Main"
+	val results = layout.buildDirectory.file("reports/jmh/results.json")
+	outputs.file(results)
+	outputs.upToDateWhen { false }
+	doFirst {
+		results.get().asFile.parentFile.mkdirs()
+		args("-rf", "json", "-rff", results.get().asFile.absolutePath)
+		(project.findProperty("jmh.args") as String?)?.let { args(it.split(" ").filter(String::isNotBlank)) }
+		(project.findProperty("jmh.include") as String?)?.let { args(it) }
+	}
+}
+
+// -Ploadtest.<name>=<value> becomes a loadtest.<name> system property, see LoadTestConfig
+tasks.register<JavaExec>("loadTest") {
+	group = "verification"
+	description = "Runs the HTTP load test against a running instance"
+	classpath = sourceSets["loadTest"].runtimeClasspath
+	mainClass = "hexlet.code.loadtest.LoadTest"
+	systemProperty("loadtest.report", layout.buildDirectory.file("reports/loadtest/summary.json").get().asFile.path)
+	project.properties
+		.filterKeys { it.startsWith("loadtest.") }
+		.forEach { (key, value) -> systemProperty(key, value.toString()) }
+}
+
+// AOT freezes profiles and @Conditional decisions at build time; the image is built for prod
+tasks.named<org.springframework.boot.gradle.tasks.aot.ProcessAot>("processAot") {
+	args("--spring.profiles.active=${project.findProperty("aot.profiles") ?: "prod"}")
+}
+
+// generated sources; tests run on the regular context, AOT test processing is only needed for native images
+tasks.named("checkstyleAot") { enabled = false }
+tasks.named("checkstyleAotTest") { enabled = false }
+tasks.named("processTestAot") { enabled = false }
+
 tasks.jacocoTestReport {
 	dependsOn(tasks.test)
 	reports {
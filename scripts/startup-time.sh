@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Prints startup time, time to the first successful API request and time to readiness (after warm-up)
+# for a java command line. The first request logs in and reads GET /api/task_statuses with the token.
+# Usage: scripts/startup-time.sh [java options and arguments]
+#   scripts/startup-time.sh -jar build/libs/app-0.0.1-SNAPSHOT.jar
+#   scripts/startup-time.sh -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -jar app.jar
+# Environment: STARTUP_PORT (default 18080), STARTUP_USER / STARTUP_PASSWORD (the seeded admin by default)
+set -euo pipefail
+
+port=${STARTUP_PORT:-18080}
+user=${STARTUP_USER:-hexlet@example.com}
+password=${STARTUP_PASSWORD:-qwerty}
+base="http://localhost:$port"
+log=$(mktemp)
+start=$(date +%s%N)
+java "$@" --server.port="$port" > "$log" 2>&1 &
+pid=$!
+trap 'kill $pid 2>/dev/null; wait $pid 2>/dev/null; rm -f "$log"' EXIT
+
+first_request() {
+  local token
+  token=$(curl -sf -H 'Content-Type: application/json' \
+    -d "{\"username\":\"$user\",\"password\":\"$password\"}" "$base/api/login") || return 1
+  curl -sf -H "Authorization: Bearer $token" "$base/api/task_statuses" > /dev/null
+}
+
+until first_request; do
+  if ! kill -0 "$pid" 2>/dev/null; then
+    cat "$log"
+    exit 1
+  fi
+  sleep 0.02
+done
+end=$(date +%s%N)
+
+grep -ao 'Started AppApplication in [0-9.]* seconds' "$log" || true
+echo "Time to first request: $(( (end - start) / 1000000 )) ms"
+
+until curl -sf "$base/actuator/health/readiness" > /dev/null; do
+  sleep 0.1
+done
+ready=$(date +%s%N)
+echo "Time to ready: $(( (ready - start) / 1000000 )) ms"
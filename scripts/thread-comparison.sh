@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Compares platform and virtual request threads under 1k/5k/10k concurrent users of filtered GET /api/tasks
+# and prints a markdown table. Needs a JDK 21 runtime, jq and the boot jar (./gradlew bootJar).
+# Usage: scripts/thread-comparison.sh [extra java options, e.g. -Dspring.datasource.url=jdbc:postgresql://...]
+# Environment: COMPARISON_DURATION (default 2m), COMPARISON_USERS (default "1000 5000 10000"), SPRING_PROFILES_ACTIVE
+set -euo pipefail
+
+jar=build/libs/app-0.0.1-SNAPSHOT.jar
+port=${COMPARISON_PORT:-8080}
+duration=${COMPARISON_DURATION:-2m}
+users=${COMPARISON_USERS:-"1000 5000 10000"}
+reports=build/reports/loadtest/threads
+mkdir -p "$reports"
+
+if ! java -version 2>&1 | grep -q 'version "2[1-9]'; then
+  echo "virtual threads need a JDK 21 runtime" >&2
+  exit 1
+fi
+
+for virtual in false true; do
+  log="$reports/app-$virtual.log"
+  # enough connections for 10k users in both modes, so only the request threads differ
+  VIRTUAL_THREADS_ENABLED=$virtual SPRING_PROFILES_ACTIVE=${SPRING_PROFILES_ACTIVE:-dev,perf} \
+    java "$@" -jar "$jar" --server.port="$port" --server.tomcat.max-connections=20000 \
+    --server.tomcat.accept-count=10000 > "$log" 2>&1 &
+  pid=$!
+  trap 'kill $pid 2>/dev/null' EXIT
+  until curl -sf "http://localhost:$port/actuator/health/readiness" > /dev/null; do
+    kill -0 "$pid" 2>/dev/null || { cat "$log"; exit 1; }
+    sleep 1
+  done
+
+  for count in $users; do
+    ./gradlew -q loadTest -Ploadtest.baseUrl="http://localhost:$port" -Ploadtest.users="$count" \
+      -Ploadtest.duration="$duration" -Ploadtest.rampUp=30s \
+      -Ploadtest.mix.board=0 -Ploadtest.mix.filter=100 -Ploadtest.mix.create=0 -Ploadtest.mix.move=0 \
+      -Ploadtest.report="$PWD/$reports/$virtual-$count.json"
+  done
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+done
+
+echo
+echo "| users | threads  | req/s | p50 ms | p99 ms | p999 ms | errors |"
+echo "|------:|----------|------:|-------:|-------:|--------:|-------:|"
+for count in $users; do
+  for virtual in false true; do
+    name=$([ "$virtual" = true ] && echo virtual || echo platform)
+    jq -r --arg users "$count" --arg name "$name" \
+      '.operations.filter | "| \($users) | \($name) | \(.throughput) | \(.p50) | \(.p99) | \(.p999) | \(.errors) |"' \
+      "$reports/$virtual-$count.json"
+  done
+done
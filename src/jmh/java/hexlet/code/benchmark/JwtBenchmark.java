@@ -0,0 +1,62 @@
+package hexlet.code.benchmark;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import hexlet.code.util.JWTUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.security.converter.RsaKeyConverters;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Token signing and verification with the application's RSA key pair, configured as in EncodersConfig
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JWTUtils jwtUtils;
+    private JwtDecoder jwtDecoder;
+    private String token;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (var publicKey = new ClassPathResource("certs/public.pem").getInputStream();
+             var privateKey = new ClassPathResource("certs/private.pem").getInputStream()) {
+            var rsaPublicKey = RsaKeyConverters.x509().convert(publicKey);
+            var rsaPrivateKey = RsaKeyConverters.pkcs8().convert(privateKey);
+            var jwk = new RSAKey.Builder(rsaPublicKey).privateKey(rsaPrivateKey).build();
+            jwtUtils = new JWTUtils(new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk))));
+            jwtDecoder = NimbusJwtDecoder.withPublicKey(rsaPublicKey).build();
+        }
+        token = jwtUtils.generateToken("bench@example.com");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken("bench@example.com");
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return jwtDecoder.decode(token);
+    }
+}
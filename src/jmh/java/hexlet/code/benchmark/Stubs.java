@@ -0,0 +1,35 @@
+package hexlet.code.benchmark;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Proxy;
+
+// Wiring for benchmarks that run without a Spring context
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    // a repository answering one query method with a fixed result; any other call fails
+    static <T> T repository(Class<T> type, String method, Object result) {
+        var stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, invoked, args) -> {
+            if (invoked.getName().equals(method)) {
+                return result;
+            }
+            if (invoked.getDeclaringClass() == Object.class) {
+                return invoked.getName().equals("toString") ? type.getSimpleName() + " stub" : null;
+            }
+            throw new UnsupportedOperationException(invoked.getName());
+        });
+        return type.cast(stub);
+    }
+
+    static void inject(Object target, Class<?> owner, String field, Object value) {
+        var declared = ReflectionUtils.findField(owner, field);
+        if (declared == null) {
+            throw new IllegalStateException(owner.getSimpleName() + " has no field " + field);
+        }
+        ReflectionUtils.makeAccessible(declared);
+        ReflectionUtils.setField(declared, target, value);
+    }
+}
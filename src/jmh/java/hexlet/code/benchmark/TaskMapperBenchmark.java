@@ -0,0 +1,104 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskUpdateDTO;
+import hexlet.code.mapper.JsonNullableMapperImpl;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.mapper.TaskMapperImpl;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// Mapping cost only: the repositories behind status, assignee and label lookups are in-memory stubs
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    @Param({"0", "5", "50"})
+    private int labelCount;
+
+    private TaskMapper taskMapper;
+    private Task task;
+    private TaskUpdateDTO update;
+
+    @Setup
+    public void setUp() {
+        var status = new TaskStatus();
+        status.setId(1L);
+        status.setSlug("to_review");
+
+        var user = new User();
+        user.setId(1L);
+        user.setEmail("bench@example.com");
+
+        var labels = LongStream.rangeClosed(1, labelCount).mapToObj(id -> {
+            var label = new Label();
+            label.setId(id);
+            label.setName("label" + id);
+            return label;
+        }).toList();
+
+        taskMapper = new TaskMapperImpl();
+        Stubs.inject(taskMapper, TaskMapperImpl.class, "jsonNullableMapper", new JsonNullableMapperImpl());
+        Stubs.inject(taskMapper, TaskMapper.class, "taskStatusRepository", Stubs.repository(TaskStatusRepository.class,
+                "findBySlug", Optional.of(status)));
+        Stubs.inject(taskMapper, TaskMapper.class, "userRepository", Stubs.repository(UserRepository.class,
+                "findById", Optional.of(user)));
+        Stubs.inject(taskMapper, TaskMapper.class, "labelRepository", Stubs.repository(LabelRepository.class,
+                "findAllById", labels));
+
+        task = new Task();
+        task.setId(1L);
+        task.setTitle("Benchmark task");
+        task.setIndex(1);
+        task.setContent("Content");
+        task.setTaskStatus(status);
+        task.setAssignee(user);
+        // update clears and refills the label list in place
+        task.setLabels(new ArrayList<>(labels));
+        task.setCreatedAt(LocalDate.now());
+
+        update = new TaskUpdateDTO();
+        update.setTitle(JsonNullable.of("Updated task"));
+        update.setStatus(JsonNullable.of("to_review"));
+        update.setAssigneeId(JsonNullable.of(1L));
+        update.setTaskLabelIds(JsonNullable.of(labels.stream().map(Label::getId).toList()));
+    }
+
+    @Benchmark
+    public TaskDTO map() {
+        return taskMapper.map(task);
+    }
+
+    @Benchmark
+    public Task update() {
+        taskMapper.update(update, task);
+        return task;
+    }
+}
@@ -0,0 +1,55 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.model.Task;
+import hexlet.code.specification.TaskFilter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Set;
+
+// The Criteria API filter GET /api/tasks used before TaskFilterRepository, kept as the benchmark's baseline
+class TaskSpecification {
+
+    public Specification<Task> build(TaskParamsDTO params) {
+        var filter = TaskFilter.of(params);
+        return withTitleCont(filter.titleCont())
+                .and(withAssigneeIds(filter.assigneeIds()))
+                .and(withStatuses(filter.statuses()))
+                .and(withLabelIds(filter.labelIds(), filter.allLabels()));
+    }
+
+    private Specification<Task> withTitleCont(String titleCont) {
+        return (root, query, cb) -> titleCont == null
+                ? cb.conjunction()
+                : cb.like(cb.lower(root.get("title")), "%" + titleCont.toLowerCase() + "%");
+    }
+
+    private Specification<Task> withAssigneeIds(Set<Long> assigneeIds) {
+        return (root, query, cb) -> assigneeIds.isEmpty()
+                ? cb.conjunction()
+                : root.get("assignee").get("id").in(assigneeIds);
+    }
+
+    private Specification<Task> withStatuses(Set<String> statuses) {
+        return (root, query, cb) -> statuses.isEmpty()
+                ? cb.conjunction()
+                : root.get("taskStatus").get("slug").in(statuses);
+    }
+
+    // a correlated subquery instead of a join, so a task matching several labels is still one row
+    private Specification<Task> withLabelIds(Set<Long> labelIds, boolean all) {
+        return (root, query, cb) -> {
+            if (labelIds.isEmpty()) {
+                return cb.conjunction();
+            }
+            var subquery = query.subquery(Long.class);
+            var labels = subquery.correlate(root).join("labels");
+            subquery.where(labels.get("id").in(labelIds));
+            if (all) {
+                subquery.select(cb.countDistinct(labels.get("id")));
+                return cb.equal(subquery, (long) labelIds.size());
+            }
+            return cb.exists(subquery.select(labels.get("id")));
+        };
+    }
+}
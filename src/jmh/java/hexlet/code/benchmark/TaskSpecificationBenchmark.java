@@ -0,0 +1,104 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.model.Task;
+import hexlet.code.repository.TaskFilterRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Criteria building against a real Hibernate metamodel (H2, no schema). createQuery adds Hibernate's
+// interpretation of the criteria tree, which is what a filtered GET /api/tasks used to pay before touching
+// the database; precompiledQuery is the static JPQL of TaskFilterRepository, served from the query plan cache.
+// Run with -Pjmh.args="-prof gc" to compare allocations.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskSpecificationBenchmark {
+
+    // bit 0 titleCont, bit 1 assigneeId, bit 2 status, bit 3 labelId
+    @Param({"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15"})
+    private int filters;
+
+    private final TaskSpecification taskSpecification = new TaskSpecification();
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private CriteriaBuilder criteriaBuilder;
+    private TaskFilterRepository taskFilterRepository;
+    private TaskParamsDTO params;
+
+    @Setup
+    public void setUp() {
+        var factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(new DriverManagerDataSource("jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1"));
+        factory.setPackagesToScan("hexlet.code.model");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        // the naming strategies Spring Boot configures, so the generated SQL matches the application's
+        factory.setJpaPropertyMap(Map.of(
+                AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                AvailableSettings.IMPLICIT_NAMING_STRATEGY, SpringImplicitNamingStrategy.class.getName()));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+        criteriaBuilder = entityManager.getCriteriaBuilder();
+        taskFilterRepository = new TaskFilterRepository(entityManager);
+
+        params = new TaskParamsDTO();
+        params.setTitleCont((filters & 1) != 0 ? "Bug" : null);
+        params.setAssigneeId((filters & 2) != 0 ? 1L : null);
+        params.setStatus((filters & 4) != 0 ? "to_review" : null);
+        params.setLabelId((filters & 8) != 0 ? 1L : null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public Predicate build() {
+        var query = criteriaBuilder.createQuery(Task.class);
+        var root = query.from(Task.class);
+        return taskSpecification.build(params).toPredicate(root, query, criteriaBuilder);
+    }
+
+    @Benchmark
+    public TypedQuery<Task> createQuery() {
+        var query = criteriaBuilder.createQuery(Task.class);
+        var root = query.from(Task.class);
+        query.where(taskSpecification.build(params).toPredicate(root, query, criteriaBuilder));
+        return entityManager.createQuery(query);
+    }
+
+    @Benchmark
+    public TypedQuery<Task> precompiledQuery() {
+        return taskFilterRepository.selectQuery(params);
+    }
+}
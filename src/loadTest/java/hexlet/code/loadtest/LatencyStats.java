@@ -0,0 +1,61 @@
+package hexlet.code.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-operation latency histograms (1 µs to 1 min, 3 significant digits) and error counts
+final class LatencyStats {
+
+    private static final long MAX_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<Operation, ConcurrentHistogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LatencyStats() {
+        for (var operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(TimeUnit.MICROSECONDS.toNanos(1), MAX_NANOS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long nanos, boolean success) {
+        histograms.get(operation).recordValue(Math.min(nanos, MAX_NANOS));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    Map<String, Object> summary(double seconds) {
+        var summary = new LinkedHashMap<String, Object>();
+        for (var operation : Operation.values()) {
+            var histogram = histograms.get(operation);
+            var count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            var row = new LinkedHashMap<String, Object>();
+            row.put("requests", count);
+            row.put("errors", errors.get(operation).sum());
+            row.put("throughput", round(count / seconds));
+            row.put("p50", millis(histogram.getValueAtPercentile(50)));
+            row.put("p99", millis(histogram.getValueAtPercentile(99)));
+            row.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+            row.put("max", millis(histogram.getMaxValue()));
+            summary.put(operation.name().toLowerCase(), row);
+        }
+        return summary;
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
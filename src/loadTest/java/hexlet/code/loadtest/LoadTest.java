@@ -0,0 +1,251 @@
+package hexlet.code.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Closed-model load test: each virtual user logs in, then loops over a weighted mix of board reads,
+// filtered task queries, task creation and status moves until the run ends.
+// Needs a running instance, e.g. SPRING_PROFILES_ACTIVE=dev,perf ./gradlew bootRun
+public final class LoadTest {
+
+    private static final String[] TITLE_WORDS = {"et", "est", "qui", "sed", "quia", "non"};
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyStats stats = new LatencyStats();
+    private final TaskPool taskPool = new TaskPool();
+    private List<String> statuses;
+    private List<Long> userIds;
+    private List<Long> labelIds;
+
+    private LoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest(LoadTestConfig.fromSystemProperties()).run();
+    }
+
+    private void run() throws Exception {
+        var token = login(config.username(), config.password());
+        statuses = ids(get(token, "/api/task_statuses"), "slug", String.class);
+        userIds = ids(get(token, "/api/users?_start=0&_end=1000"), "id", Long.class);
+        labelIds = ids(get(token, "/api/labels"), "id", Long.class);
+        for (var status : statuses) {
+            ids(get(token, "/api/tasks?status=" + status), "id", Long.class).forEach(taskPool::add);
+        }
+        System.out.printf("Load test against %s: %d users for %s (ramp-up %s), %d statuses, %d users, %d labels%n",
+                config.baseUrl(), config.users(), config.duration(), config.rampUp(),
+                statuses.size(), userIds.size(), labelIds.size());
+
+        var started = System.nanoTime();
+        var deadline = started + config.rampUp().plus(config.duration()).toNanos();
+        var done = new CountDownLatch(config.users());
+        for (var user = 0; user < config.users(); user++) {
+            var delay = config.rampUp().toNanos() * user / config.users();
+            var number = user;
+            var thread = new Thread(() -> {
+                try {
+                    Thread.sleep(Duration.ofNanos(delay).toMillis());
+                    virtualUser(number, deadline);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Virtual user " + number + " stopped: " + e);
+                } finally {
+                    done.countDown();
+                }
+            }, "vu-" + user);
+            thread.start();
+        }
+        done.await();
+
+        var seconds = (System.nanoTime() - started) / 1e9;
+        report(stats.summary(seconds), seconds);
+    }
+
+    private void virtualUser(int number, long deadline) throws IOException, InterruptedException {
+        var token = login(config.credentialsFor(number), config.passwordFor());
+        var random = ThreadLocalRandom.current();
+        var totalWeight = config.mix().values().stream().mapToInt(Integer::intValue).sum();
+
+        while (System.nanoTime() < deadline) {
+            var roll = random.nextInt(totalWeight);
+            var operation = Operation.BOARD;
+            for (var entry : config.mix().entrySet()) {
+                roll -= entry.getValue();
+                if (roll < 0) {
+                    operation = entry.getKey();
+                    break;
+                }
+            }
+            var start = System.nanoTime();
+            var success = execute(operation, token, random);
+            stats.record(operation, System.nanoTime() - start, success);
+            if (!config.thinkTime().isZero()) {
+                Thread.sleep(config.thinkTime().toMillis());
+            }
+        }
+    }
+
+    private boolean execute(Operation operation, String token, ThreadLocalRandom random)
+            throws IOException, InterruptedException {
+        return switch (operation) {
+            case BOARD -> board(token);
+            case FILTER -> send(token, "GET", filterQuery(random), null).statusCode() == 200;
+            case CREATE -> create(token, random);
+            case MOVE -> move(token, random);
+        };
+    }
+
+    private boolean board(String token) throws IOException, InterruptedException {
+        if (send(token, "GET", "/api/task_statuses", null).statusCode() != 200) {
+            return false;
+        }
+        for (var status : statuses) {
+            if (send(token, "GET", "/api/tasks?status=" + status, null).statusCode() != 200) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String filterQuery(ThreadLocalRandom random) {
+        var params = new ArrayList<String>();
+        // at least one filter: an empty query returns every task
+        while (params.isEmpty()) {
+            if (random.nextBoolean()) {
+                params.add("status=" + pick(statuses, random));
+            }
+            if (random.nextInt(3) == 0 && !userIds.isEmpty()) {
+                params.add("assigneeId=" + pick(userIds, random));
+            }
+            if (random.nextInt(3) == 0 && !labelIds.isEmpty()) {
+                params.add("labelId=" + pick(labelIds, random));
+            }
+            if (random.nextInt(4) == 0) {
+                params.add("titleCont=" + URLEncoder.encode(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)],
+                        StandardCharsets.UTF_8));
+            }
+        }
+        params.add("page=" + (1 + random.nextInt(3)));
+        return "/api/tasks?" + String.join("&", params);
+    }
+
+    private boolean create(String token, ThreadLocalRandom random) throws IOException, InterruptedException {
+        var body = new LinkedHashMap<String, Object>();
+        body.put("title", "Load test task " + random.nextInt(1_000_000));
+        body.put("content", "Created by the load test");
+        body.put("status", pick(statuses, random));
+        if (!userIds.isEmpty()) {
+            body.put("assignee_id", pick(userIds, random));
+        }
+        if (!labelIds.isEmpty()) {
+            body.put("taskLabelIds", List.of(pick(labelIds, random)));
+        }
+        var response = send(token, "POST", "/api/tasks", body);
+        if (response.statusCode() != 201) {
+            return false;
+        }
+        taskPool.add(objectMapper.readTree(response.body()).get("id").asLong());
+        return true;
+    }
+
+    private boolean move(String token, ThreadLocalRandom random) throws IOException, InterruptedException {
+        var taskId = taskPool.pick(random);
+        if (taskId == null) {
+            return create(token, random);
+        }
+        var response = send(token, "PUT", "/api/tasks/" + taskId, Map.of("status", pick(statuses, random)));
+        if (response.statusCode() == 404) {
+            taskPool.remove(taskId);
+        }
+        return response.statusCode() == 200;
+    }
+
+    private String login(String username, String password) throws IOException, InterruptedException {
+        var response = send(null, "POST", "/api/login", Map.of("username", username, "password", password));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + username + " failed with HTTP " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private JsonNode get(String token, String path) throws IOException, InterruptedException {
+        var response = send(token, "GET", path, null);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " failed with HTTP " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> send(String token, String method, String path, Object body)
+            throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create(config.baseUrl() + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void report(Map<String, Object> summary, double seconds) throws IOException {
+        System.out.printf("%n%-8s %10s %8s %10s %9s %9s %9s %9s%n",
+                "op", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        summary.forEach((operation, value) -> {
+            var row = (Map<?, ?>) value;
+            System.out.printf("%-8s %10s %8s %10s %9s %9s %9s %9s%n", operation, row.get("requests"),
+                    row.get("errors"), row.get("throughput"), row.get("p50"), row.get("p99"), row.get("p999"),
+                    row.get("max"));
+        });
+
+        var report = new LinkedHashMap<String, Object>();
+        report.put("baseUrl", config.baseUrl().toString());
+        report.put("users", config.users());
+        report.put("seconds", Math.round(seconds));
+        report.put("operations", summary);
+        var path = Path.of(config.report());
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+        System.out.println("\nSummary written to " + path.toAbsolutePath());
+    }
+
+    private static <T> T pick(List<T> values, ThreadLocalRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static <T> List<T> ids(JsonNode array, String field, Class<T> type) {
+        var values = new ArrayList<T>();
+        array.forEach(node -> values.add(type == Long.class
+                ? type.cast(node.get(field).asLong())
+                : type.cast(node.get(field).asText())));
+        return values;
+    }
+}
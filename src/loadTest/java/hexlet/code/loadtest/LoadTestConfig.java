@@ -0,0 +1,50 @@
+package hexlet.code.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+// Read from loadtest.* system properties; ./gradlew loadTest -Ploadtest.users=100 sets them
+record LoadTestConfig(
+        URI baseUrl,
+        int users,
+        Duration duration,
+        Duration rampUp,
+        Duration thinkTime,
+        String username,
+        String password,
+        int perfUsers,
+        Map<Operation, Integer> mix,
+        String report) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                URI.create(property("baseUrl", "http://localhost:8080")),
+                Integer.parseInt(property("users", "20")),
+                Duration.parse("PT" + property("duration", "60s")),
+                Duration.parse("PT" + property("rampUp", "10s")),
+                Duration.parse("PT" + property("thinkTime", "0s")),
+                property("username", "hexlet@example.com"),
+                property("password", "qwerty"),
+                // > 0: virtual users log in as perf-1..perf-N@example.com (see PerfDataGenerator)
+                Integer.parseInt(property("perfUsers", "0")),
+                Map.of(
+                        Operation.BOARD, Integer.parseInt(property("mix.board", "40")),
+                        Operation.FILTER, Integer.parseInt(property("mix.filter", "35")),
+                        Operation.CREATE, Integer.parseInt(property("mix.create", "10")),
+                        Operation.MOVE, Integer.parseInt(property("mix.move", "15"))),
+                property("report", "build/reports/loadtest/summary.json"));
+    }
+
+    String credentialsFor(int user) {
+        return perfUsers > 0 ? "perf-" + (user % perfUsers + 1) + "@example.com" : username;
+    }
+
+    String passwordFor() {
+        return perfUsers > 0 ? "password" : password;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
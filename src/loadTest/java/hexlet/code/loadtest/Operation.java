@@ -0,0 +1,12 @@
+package hexlet.code.loadtest;
+
+enum Operation {
+    // the board: statuses, then the first page of every status column
+    BOARD,
+    // GET /api/tasks with a random combination of status, assignee, label and title filters
+    FILTER,
+    // POST /api/tasks
+    CREATE,
+    // PUT /api/tasks/{id} moving a task to another status
+    MOVE
+}
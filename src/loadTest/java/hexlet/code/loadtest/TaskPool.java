@@ -0,0 +1,29 @@
+package hexlet.code.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Task ids that status moves pick from; once full, new ids replace random old ones
+final class TaskPool {
+
+    private static final int CAPACITY = 10_000;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    synchronized void add(long id) {
+        if (ids.size() < CAPACITY) {
+            ids.add(id);
+        } else {
+            ids.set(ThreadLocalRandom.current().nextInt(CAPACITY), id);
+        }
+    }
+
+    synchronized Long pick(ThreadLocalRandom random) {
+        return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+    }
+
+    synchronized void remove(long id) {
+        ids.remove(Long.valueOf(id));
+    }
+}
@@ -0,0 +1,28 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Users granted ROLE_ADMIN, which guards the management endpoints that expose internals
+@Component
+@ConfigurationProperties(prefix = "app.admin")
+@Getter
+@Setter
+public class AdminProperties {
+
+    public static final String ROLE = "ADMIN";
+
+    // the admin created by DataInitializer
+    private List<String> emails = new ArrayList<>(List.of("hexlet@example.com"));
+
+    public List<GrantedAuthority> authoritiesFor(String email) {
+        return emails.contains(email) ? List.of(new SimpleGrantedAuthority("ROLE_" + ROLE)) : List.of();
+    }
+}
@@ -1,60 +1,158 @@
 package hexlet.code.component;
 
-import hexlet.code.model.Label;
-import hexlet.code.model.TaskStatus;
-import hexlet.code.model.User;
-import hexlet.code.repository.LabelRepository;
-import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.dto.UserDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.UserChangedEvent;
+import hexlet.code.repository.UserRepository;
 import hexlet.code.service.CustomUserDetailsService;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.List;
+
+// Reference data every installation needs, declared once and applied with batched upserts in one transaction.
+// The fingerprint of the declaration is kept in seed_state, so a boot with unchanged seed data costs one query.
+// Seed rows deleted later are only brought back when the seed data changes.
+@Slf4j
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 @AllArgsConstructor
 public class DataInitializer implements ApplicationRunner {
 
+    static final String SEED_NAME = "reference-data";
+
+    private static final List<StatusSeed> TASK_STATUSES = List.of(
+            new StatusSeed("Draft", "draft"),
+            new StatusSeed("ToReview", "to_review"),
+            new StatusSeed("ToBeFixed", "to_be_fixed"),
+            new StatusSeed("ToPublish", "to_publish"),
+            new StatusSeed("Published", "published"));
+    private static final List<String> LABELS = List.of("bug", "feature");
+    private static final String ADMIN_EMAIL = "hexlet@example.com";
+    private static final String ADMIN_FIRST_NAME = "admin";
+    private static final String ADMIN_PASSWORD = "qwerty";
+
+    static final String FINGERPRINT = fingerprint(TASK_STATUSES, LABELS, ADMIN_EMAIL, ADMIN_FIRST_NAME);
+
     private final CustomUserDetailsService userDetailsService;
-    private final TaskStatusRepository taskStatusRepository;
-    private final LabelRepository labelRepository;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    public void run(ApplicationArguments args) throws Exception {
-        var email = "hexlet@example.com";
+    public void run(ApplicationArguments args) {
+        var applied = jdbcTemplate.queryForList("SELECT fingerprint FROM seed_state WHERE name = ?",
+                String.class, SEED_NAME);
+        if (applied.contains(FINGERPRINT)) {
+            return;
+        }
 
-        if (!userDetailsService.userExists(email)) {
-            var user = new User();
-            user.setEmail(email);
-            user.setFirstName("admin");
+        var sql = isPostgres() ? SeedSql.POSTGRES : SeedSql.MERGE;
+        var today = Date.valueOf(LocalDate.now());
+        // BCrypt is slow, only pay for it when the admin is missing
+        var adminDigest = userDetailsService.userExists(ADMIN_EMAIL) ? null : passwordEncoder.encode(ADMIN_PASSWORD);
 
-            userDetailsService.createUserWithRawPassword(user, "qwerty");
-        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(sql.taskStatus(), TASK_STATUSES, TASK_STATUSES.size(), (ps, taskStatus) -> {
+                ps.setString(1, taskStatus.name());
+                ps.setString(2, taskStatus.slug());
+                ps.setDate(3, today);
+            });
+            jdbcTemplate.batchUpdate(sql.label(), LABELS, LABELS.size(), (ps, label) -> {
+                ps.setString(1, label);
+                ps.setDate(2, today);
+            });
+            if (adminDigest != null
+                    && jdbcTemplate.update(sql.user(), ADMIN_FIRST_NAME, ADMIN_EMAIL, adminDigest, today, today) == 1) {
+                publishAdminCreated();
+            }
+            jdbcTemplate.update(sql.seedState(), SEED_NAME, FINGERPRINT, Timestamp.from(Instant.now()));
+        });
+        log.info("Seed data {} applied", FINGERPRINT.substring(0, 12));
+    }
 
-        createDefaultTaskStatus("Draft", "draft");
-        createDefaultTaskStatus("ToReview", "to_review");
-        createDefaultTaskStatus("ToBeFixed", "to_be_fixed");
-        createDefaultTaskStatus("ToPublish", "to_publish");
-        createDefaultTaskStatus("Published", "published");
+    // keeps the outbox and the email filter in step, as user creation through the service would
+    private void publishAdminCreated() {
+        var user = userRepository.findByEmail(ADMIN_EMAIL).orElseThrow();
+        var dto = new UserDTO(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+                user.getCreatedAt(), user.getUpdatedAt());
+        eventPublisher.publishEvent(new UserChangedEvent(ChangeType.CREATED, dto));
+    }
 
-        createDefaultLabel("bug");
-        createDefaultLabel("feature");
+    private boolean isPostgres() {
+        return "PostgreSQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
     }
 
-    private void createDefaultTaskStatus(String name, String slug) {
-        if (taskStatusRepository.findBySlug(slug).isEmpty()) {
-            var taskStatus = new TaskStatus();
-            taskStatus.setName(name);
-            taskStatus.setSlug(slug);
-            taskStatusRepository.save(taskStatus);
+    private static String fingerprint(Object... seedData) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            for (var part : seedData) {
+                digest.update(part.toString().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 
-    private void createDefaultLabel(String name) {
-        if (labelRepository.findByName(name).isEmpty()) {
-            var label = new Label();
-            label.setName(name);
-            labelRepository.save(label);
-        }
+    private record StatusSeed(String name, String slug) {
+    }
+
+    // parameters are bound in the same order for both variants
+    private record SeedSql(String taskStatus, String label, String user, String seedState) {
+
+        static final SeedSql POSTGRES = new SeedSql(
+                "INSERT INTO task_statuses (name, slug, created_at) VALUES (?, ?, ?) ON CONFLICT DO NOTHING",
+                "INSERT INTO labels (name, created_at) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                """
+                INSERT INTO users (first_name, email, password_digest, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?) ON CONFLICT DO NOTHING""",
+                """
+                INSERT INTO seed_state (name, fingerprint, applied_at) VALUES (?, ?, ?)
+                ON CONFLICT (name) DO UPDATE
+                SET fingerprint = excluded.fingerprint, applied_at = excluded.applied_at""");
+
+        // standard SQL MERGE for H2
+        static final SeedSql MERGE = new SeedSql(
+                """
+                MERGE INTO task_statuses t USING (VALUES (?, ?, ?)) s (name, slug, created_at)
+                ON t.slug = s.slug OR t.name = s.name
+                WHEN NOT MATCHED THEN INSERT (name, slug, created_at) VALUES (s.name, s.slug, s.created_at)""",
+                """
+                MERGE INTO labels t USING (VALUES (?, ?)) s (name, created_at) ON t.name = s.name
+                WHEN NOT MATCHED THEN INSERT (name, created_at) VALUES (s.name, s.created_at)""",
+                """
+                MERGE INTO users t
+                USING (VALUES (?, ?, ?, ?, ?)) s (first_name, email, password_digest, created_at, updated_at)
+                ON t.email = s.email
+                WHEN NOT MATCHED THEN INSERT (first_name, email, password_digest, created_at, updated_at)
+                VALUES (s.first_name, s.email, s.password_digest, s.created_at, s.updated_at)""",
+                """
+                MERGE INTO seed_state t USING (VALUES (?, ?, ?)) s (name, fingerprint, applied_at) ON t.name = s.name
+                WHEN MATCHED THEN UPDATE SET fingerprint = s.fingerprint, applied_at = s.applied_at
+                WHEN NOT MATCHED THEN INSERT (name, fingerprint, applied_at)
+                VALUES (s.name, s.fingerprint, s.applied_at)""");
     }
 }
@@ -0,0 +1,46 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.LabelDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.LabelChangedEvent;
+import hexlet.code.mapper.LabelMapper;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.util.PrefixIndex;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Component
+@AllArgsConstructor
+public class LabelSuggestIndex {
+
+    private final LabelRepository labelRepository;
+    private final LabelMapper labelMapper;
+    private final PrefixIndex<LabelDTO> index = new PrefixIndex<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        labelRepository.findAll().forEach(label -> put(labelMapper.map(label)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLabelChanged(LabelChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            index.remove(event.getLabel().getId());
+        } else {
+            put(event.getLabel());
+        }
+    }
+
+    public List<LabelDTO> suggest(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    private void put(LabelDTO label) {
+        index.put(label.getId(), label, List.of(label.getName()));
+    }
+}
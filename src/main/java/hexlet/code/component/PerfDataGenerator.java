@@ -0,0 +1,290 @@
+package hexlet.code.component;
+
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fills the database with production-sized data for local performance work (profile "perf").
+// Rows go in with batched JDBC inserts, one transaction per batch, spread over a worker pool.
+// Generated users share the password "password". No domain events or outbox rows are written,
+// so suggest indexes and other caches built at startup only see the data after a restart.
+@Slf4j
+@Component
+@Profile("perf")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class PerfDataGenerator implements ApplicationRunner {
+
+    static final String EMAIL_FORMAT = "perf-%d@example.com";
+    static final String LABEL_FORMAT = "perf-label-%d";
+    private static final String PASSWORD = "password";
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (first_name, last_name, email, password_digest, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?)""";
+    private static final String INSERT_LABEL = "INSERT INTO labels (name, created_at) VALUES (?, ?)";
+    private static final String INSERT_TASK = """
+            INSERT INTO tasks (title, index, content, task_status_id, assignee_id, created_at)
+            VALUES (?, ?, ?, ?, ?, ?)""";
+    private static final String INSERT_TASK_LABEL = "INSERT INTO task_labels (task_id, label_id) VALUES (?, ?)";
+    private static final String INSERT_TASK_CHANGE =
+            "INSERT INTO task_changes (task_id, change_type, changed_at) VALUES (?, 'CREATED', ?)";
+
+    private final PerfDataProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final ThreadLocal<Faker> faker = ThreadLocal.withInitial(Faker::new);
+
+    public PerfDataGenerator(
+            PerfDataProperties properties,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            PasswordEncoder passwordEncoder,
+            RegisteredEmailFilter registeredEmailFilter) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.registeredEmailFilter = registeredEmailFilter;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException, ExecutionException {
+        var started = System.nanoTime();
+        generateLabels();
+        generateUsers();
+        generateTasks();
+        log.info("Perf data ready in {} s", (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private void generateLabels() {
+        var existing = count("SELECT count(*) FROM labels WHERE name LIKE 'perf-label-%'");
+        var names = new ArrayList<String>();
+        for (long i = existing + 1; i <= properties.getLabels(); i++) {
+            names.add(LABEL_FORMAT.formatted(i));
+        }
+        var today = Date.valueOf(LocalDate.now());
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_LABEL, names, properties.getBatchSize(), (ps, name) -> {
+                    ps.setString(1, name);
+                    ps.setDate(2, today);
+                }));
+        log.info("Perf data: {} labels inserted", names.size());
+    }
+
+    private void generateUsers() throws InterruptedException, ExecutionException {
+        var existing = count("SELECT count(*) FROM users WHERE email LIKE 'perf-%@example.com'");
+        // one hash for everyone: BCrypt per user would take longer than all the inserts together
+        var digest = passwordEncoder.encode(PASSWORD);
+        var today = Date.valueOf(LocalDate.now());
+
+        inParallel("users", existing, properties.getUsers(), (from, to) -> {
+            var name = faker.get().name();
+            var rows = new ArrayList<UserRow>((int) (to - from));
+            for (var i = from + 1; i <= to; i++) {
+                rows.add(new UserRow(name.firstName(), name.lastName(), EMAIL_FORMAT.formatted(i)));
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_USER, rows, rows.size(), (ps, row) -> {
+                        ps.setString(1, row.firstName());
+                        ps.setString(2, row.lastName());
+                        ps.setString(3, row.email());
+                        ps.setString(4, digest);
+                        ps.setDate(5, today);
+                        ps.setDate(6, today);
+                    }));
+            rows.forEach(row -> registeredEmailFilter.add(row.email()));
+        });
+    }
+
+    private void generateTasks() throws InterruptedException, ExecutionException {
+        var statusIds = jdbcTemplate.queryForList("SELECT id FROM task_statuses ORDER BY id", Long.class);
+        if (statusIds.isEmpty()) {
+            throw new IllegalStateException("Perf data needs task statuses; DataInitializer creates the defaults");
+        }
+        var userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        var labelIds = jdbcTemplate.queryForList("SELECT id FROM labels ORDER BY id", Long.class);
+        var assignees = new ZipfSampler(userIds.size(), properties.getAssigneeSkew());
+        var labels = new ZipfSampler(labelIds.size(), properties.getLabelSkew());
+
+        inParallel("tasks", count("SELECT count(*) FROM tasks"), properties.getTasks(), (from, to) -> {
+            var random = ThreadLocalRandom.current();
+            var lorem = faker.get().lorem();
+            var rows = new ArrayList<TaskRow>((int) (to - from));
+            for (var i = from; i < to; i++) {
+                var assigneeId = userIds.isEmpty() || random.nextDouble() < properties.getUnassignedRatio()
+                        ? null
+                        : userIds.get(assignees.next(random));
+                rows.add(new TaskRow(
+                        lorem.sentence(4),
+                        (int) i,
+                        lorem.paragraph(),
+                        statusIds.get(random.nextInt(statusIds.size())),
+                        assigneeId,
+                        pickLabels(random, labelIds, labels)));
+            }
+            transactionTemplate.executeWithoutResult(status -> insertTasks(rows));
+        });
+    }
+
+    private List<Long> pickLabels(Random random, List<Long> labelIds, ZipfSampler sampler) {
+        var picked = new HashSet<Long>();
+        var wanted = 0;
+        while (wanted < properties.getMaxLabelsPerTask() && random.nextBoolean()) {
+            wanted++;
+        }
+        wanted = Math.min(wanted, labelIds.size());
+        while (picked.size() < wanted) {
+            picked.add(labelIds.get(sampler.next(random)));
+        }
+        return List.copyOf(picked);
+    }
+
+    private void insertTasks(List<TaskRow> rows) {
+        var keyHolder = new GeneratedKeyHolder();
+        var today = Date.valueOf(LocalDate.now());
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_TASK, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        var row = rows.get(i);
+                        ps.setString(1, row.title());
+                        ps.setInt(2, row.index());
+                        ps.setString(3, row.content());
+                        ps.setLong(4, row.statusId());
+                        ps.setObject(5, row.assigneeId(), Types.BIGINT);
+                        ps.setDate(6, today);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder);
+
+        var keys = keyHolder.getKeyList();
+        var taskIds = new ArrayList<Long>(rows.size());
+        var links = new ArrayList<long[]>();
+        for (var i = 0; i < rows.size(); i++) {
+            var taskId = ((Number) keys.get(i).get("id")).longValue();
+            taskIds.add(taskId);
+            rows.get(i).labelIds().forEach(labelId -> links.add(new long[] {taskId, labelId}));
+        }
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TASK_LABEL, links, links.size(), (ps, link) -> {
+                ps.setLong(1, link[0]);
+                ps.setLong(2, link[1]);
+            });
+        }
+        // keeps GET /api/tasks/changes consistent with the generated rows
+        var changedAt = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_TASK_CHANGE, taskIds, taskIds.size(), (ps, taskId) -> {
+            ps.setLong(1, taskId);
+            ps.setTimestamp(2, changedAt);
+        });
+    }
+
+    // splits (existing, target] into batches and writes them on the worker pool
+    private void inParallel(String what, long existing, long target, BatchWriter writer)
+            throws InterruptedException, ExecutionException {
+        if (existing >= target) {
+            log.info("Perf data: {} already at {}", what, existing);
+            return;
+        }
+        var written = new AtomicLong();
+        var reportEvery = Math.max(target / 20, properties.getBatchSize());
+        var executor = Executors.newFixedThreadPool(properties.getWorkers());
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (var from = existing; from < target; from += properties.getBatchSize()) {
+                var batchFrom = from;
+                var batchTo = Math.min(from + properties.getBatchSize(), target);
+                futures.add(executor.submit(() -> {
+                    writer.write(batchFrom, batchTo);
+                    var total = written.addAndGet(batchTo - batchFrom);
+                    if (total / reportEvery != (total - (batchTo - batchFrom)) / reportEvery) {
+                        log.info("Perf data: {} {} of {} inserted", total, what, target - existing);
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Perf data: {} {} inserted", written.get(), what);
+    }
+
+    private long count(String sql) {
+        var count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @FunctionalInterface
+    private interface BatchWriter {
+        void write(long from, long to);
+    }
+
+    private record UserRow(String firstName, String lastName, String email) {
+    }
+
+    private record TaskRow(String title, int index, String content, long statusId, Long assigneeId,
+                           List<Long> labelIds) {
+    }
+
+    // rank 0 is the most likely; sampling is a binary search over the cumulative weights
+    static final class ZipfSampler {
+
+        private final double[] cumulative;
+
+        ZipfSampler(int size, double exponent) {
+            cumulative = new double[size];
+            var sum = 0.0;
+            for (var rank = 0; rank < size; rank++) {
+                sum += 1 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = sum;
+            }
+            for (var rank = 0; rank < size; rank++) {
+                cumulative[rank] /= sum;
+            }
+        }
+
+        int next(Random random) {
+            var index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+}
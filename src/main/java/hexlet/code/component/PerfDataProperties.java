@@ -0,0 +1,25 @@
+package hexlet.code.component;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.perf")
+@Getter
+@Setter
+public class PerfDataProperties {
+    // target totals; a restart only tops up what is missing
+    private int users = 100_000;
+    private int labels = 1_000;
+    private long tasks = 5_000_000;
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private int batchSize = 1_000;
+    // Zipf exponent over users: with 1.1 the top 1% of users get roughly half of the tasks
+    private double assigneeSkew = 1.1;
+    private double unassignedRatio = 0.1;
+    // labels per task follow a geometric distribution (half of the tasks have none), capped here
+    private int maxLabelsPerTask = 6;
+    private double labelSkew = 1.0;
+}
@@ -0,0 +1,61 @@
+package hexlet.code.component;
+
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.UserChangedEvent;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.CountingBloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// "Definitely not registered" answers let user creation skip the lookup query.
+// Until the filter is loaded, and for every positive, callers fall back to the database;
+// the unique constraint on users.email remains the final guard.
+@Slf4j
+@Component
+public class RegisteredEmailFilter {
+
+    private final UserRepository userRepository;
+    private final CountingBloomFilter filter;
+    private volatile boolean loaded;
+
+    public RegisteredEmailFilter(
+            UserRepository userRepository,
+            @Value("${app.users.email-filter.expected-entries:100000}") int expectedEntries,
+            @Value("${app.users.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.filter = new CountingBloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    // ApplicationStartedEvent fires before ApplicationRunners, so DataInitializer already benefits
+    @EventListener(ApplicationStartedEvent.class)
+    public void load() {
+        var emails = userRepository.findAllEmails();
+        emails.forEach(filter::add);
+        loaded = true;
+        log.info("Registered email filter loaded with {} entries", emails.size());
+    }
+
+    public boolean mightBeRegistered(String email) {
+        return !loaded || filter.mightContain(email);
+    }
+
+    // for bulk inserts that bypass the user service and its events
+    public void add(String email) {
+        filter.add(email);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        var email = event.getUser().getEmail();
+        if (event.getType() == ChangeType.DELETED) {
+            filter.remove(email);
+        } else {
+            // an email changed by an update keeps its old entry: a false positive, never a false negative
+            filter.add(email);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package hexlet.code.component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.TasksImportedEvent;
+import hexlet.code.specification.TaskFilter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fans committed task changes out to SSE subscribers.
+// Idle connections hold no thread: each subscriber has a bounded buffer that a small sender pool drains
+// on demand. A subscriber that falls behind loses its buffer and gets a "resync" event to reload instead.
+@Slf4j
+@Component
+public class TaskChangeBroadcaster {
+
+    private static final int BUFFER_CAPACITY = 256;
+    private static final long HEARTBEAT_SECONDS = 25;
+
+    private static final Set<DataWithMediaType> RESYNC = SseEmitter.event().name("resync").data("{}").build();
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final ObjectMapper objectMapper;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor();
+    private final Duration timeout;
+
+    public TaskChangeBroadcaster(
+            ObjectMapper objectMapper,
+            @Value("${app.tasks.stream.sender-threads:4}") int senderThreads,
+            @Value("${app.tasks.stream.timeout:30m}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.senders = Executors.newFixedThreadPool(senderThreads);
+        heartbeats.scheduleAtFixedRate(() -> subscribers.forEach(Subscriber::heartbeat),
+                HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    // resume is set when the client reconnects with Last-Event-ID: missed events are not kept, so it must reload
+    public SseEmitter subscribe(TaskParamsDTO filter, boolean resume) {
+        // clients reconnect with Last-Event-ID when the stream times out
+        var emitter = new SseEmitter(timeout.toMillis());
+        var subscriber = new Subscriber(emitter, TaskFilter.of(filter));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        // without a handler a timed-out stream is answered with 503 instead of being closed
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        subscribers.add(subscriber);
+
+        if (resume) {
+            subscriber.resync();
+        }
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        // serialized once and shared by every matching subscriber
+        var message = SseEmitter.event()
+                .id(String.valueOf(sequence.incrementAndGet()))
+                .name(event.getType().name().toLowerCase(Locale.ROOT))
+                .data(toJson(event.getTask()), MediaType.APPLICATION_JSON)
+                .build();
+
+        for (var subscriber : subscribers) {
+            if (subscriber.matches(event.getTask())
+                    || event.getPrevious() != null && subscriber.matches(event.getPrevious())) {
+                subscriber.enqueue(message);
+            }
+        }
+    }
+
+    @EventListener
+    public void onTasksImported(TasksImportedEvent event) {
+        subscribers.forEach(Subscriber::resync);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private String toJson(TaskDTO task) {
+        try {
+            return objectMapper.writeValueAsString(task);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final TaskFilter filter;
+        private final Queue<Set<DataWithMediaType>> buffer = new ArrayBlockingQueue<>(BUFFER_CAPACITY);
+        private final AtomicBoolean resyncPending = new AtomicBoolean();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, TaskFilter filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+
+        boolean matches(TaskDTO task) {
+            return filter.matches(task.getTitle(), task.getAssigneeId(), task.getStatus(), task.getTaskLabelIds());
+        }
+
+        void enqueue(Set<DataWithMediaType> message) {
+            if (!buffer.offer(message)) {
+                buffer.clear();
+                resyncPending.set(true);
+            }
+            scheduleDrain();
+        }
+
+        void resync() {
+            buffer.clear();
+            resyncPending.set(true);
+            scheduleDrain();
+        }
+
+        void heartbeat() {
+            if (buffer.isEmpty() && buffer.offer(HEARTBEAT)) {
+                scheduleDrain();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (resyncPending.getAndSet(false)) {
+                    emitter.send(RESYNC);
+                }
+                for (var message = buffer.poll(); message != null; message = buffer.poll()) {
+                    emitter.send(message);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // the client went away or the emitter already completed
+                log.debug("Dropping task stream subscriber: {}", e.getMessage());
+                subscribers.remove(this);
+                buffer.clear();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // an enqueue may have lost the race with the end of this drain
+            if (!buffer.isEmpty() || resyncPending.get()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
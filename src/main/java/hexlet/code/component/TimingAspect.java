@@ -0,0 +1,58 @@
+package hexlet.code.component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Times every *ServiceImpl method (app.service) and TaskMapper map/update (app.mapper),
+// tagged with class, method and the exception thrown, if any. Timers are looked up once per tag set,
+// not built and registered on every call.
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class TimingAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * hexlet.code.service.impl.*ServiceImpl.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("app.service", joinPoint);
+    }
+
+    @Around("execution(* hexlet.code.mapper.TaskMapper.map(..))"
+            + " || execution(* hexlet.code.mapper.TaskMapper.update(..))")
+    public Object timeMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("app.mapper", joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        var sample = Timer.start(meterRegistry);
+        var exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            var signature = joinPoint.getSignature();
+            sample.stop(timers.computeIfAbsent(
+                    new TimerKey(name, signature.getDeclaringType(), signature.getName(), exception),
+                    key -> Timer.builder(key.name())
+                            .tag("class", key.type().getSimpleName())
+                            .tag("method", key.method())
+                            .tag("exception", key.exception())
+                            .register(meterRegistry)));
+        }
+    }
+
+    private record TimerKey(String name, Class<?> type, String method, String exception) {
+    }
+}
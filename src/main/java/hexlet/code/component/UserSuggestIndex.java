@@ -0,0 +1,51 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.UserDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.UserChangedEvent;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.util.PrefixIndex;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+// In-memory per node: changes made on another node show up here after a restart
+@Component
+@AllArgsConstructor
+public class UserSuggestIndex {
+
+    private final UserRepository userRepository;
+    private final PrefixIndex<UserDTO> index = new PrefixIndex<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        userRepository.findPage(Pageable.unpaged()).forEach(this::put);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            index.remove(event.getUser().getId());
+        } else {
+            put(event.getUser());
+        }
+    }
+
+    public List<UserDTO> suggest(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    private void put(UserDTO user) {
+        index.put(user.getId(), user, List.of(user.getEmail(), nullToEmpty(user.getFirstName()),
+                nullToEmpty(user.getLastName())));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -7,6 +7,8 @@ import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
 import hexlet.code.component.RsaKeyProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -37,8 +39,20 @@ public class EncodersConfig {
         return new NimbusJwtEncoder(jwks);
     }
 
+    // every authenticated request decodes its token, so the decoder is timed by outcome
     @Bean
-    JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(rsaKeys.getPublicKey()).build();
+    JwtDecoder jwtDecoder(MeterRegistry meterRegistry) {
+        var decoder = NimbusJwtDecoder.withPublicKey(rsaKeys.getPublicKey()).build();
+        return token -> {
+            var sample = Timer.start(meterRegistry);
+            var outcome = "failure";
+            try {
+                var jwt = decoder.decode(token);
+                outcome = "success";
+                return jwt;
+            } finally {
+                sample.stop(meterRegistry.timer("app.jwt.decode", "outcome", outcome));
+            }
+        };
     }
 }
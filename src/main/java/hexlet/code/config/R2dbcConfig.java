@@ -0,0 +1,88 @@
+package hexlet.code.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+
+// The pool is deliberately not a bean: Boot skips the JDBC DataSource (and with it JPA)
+// as soon as an R2DBC ConnectionFactory bean exists, see spring.autoconfigure.exclude.
+// Without spring.r2dbc.url the URL is derived from a PostgreSQL JDBC URL; when neither is usable
+// the reactive endpoints answer 503 and the rest of the application starts as usual.
+@Configuration
+@Conditional(R2dbcConfig.OnR2dbcUrl.class)
+public class R2dbcConfig {
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient databaseClient(
+            Environment environment,
+            @Value("${spring.r2dbc.username:${spring.datasource.username:}}") String username,
+            @Value("${spring.r2dbc.password:${spring.datasource.password:}}") String password,
+            @Value("${spring.r2dbc.pool.max-size:10}") int maxSize) {
+        var options = ConnectionFactoryOptions.parse(resolveUrl(environment)).mutate();
+        if (StringUtils.hasText(username)) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (StringUtils.hasText(password)) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name("reactive")
+                .maxSize(maxSize)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+
+    static String resolveUrl(PropertyResolver properties) {
+        var url = property(properties, "spring.r2dbc.url");
+        if (StringUtils.hasText(url)) {
+            return url;
+        }
+        var jdbcUrl = property(properties, "spring.datasource.url");
+        if (jdbcUrl != null && jdbcUrl.startsWith("jdbc:postgresql://")) {
+            // the R2DBC driver spells the JDBC sslmode option sslMode
+            return "r2dbc:" + jdbcUrl.substring("jdbc:".length()).replace("sslmode=", "sslMode=");
+        }
+        return null;
+    }
+
+    // AOT processing runs with the prod profile but without its environment variables
+    private static String property(PropertyResolver properties, String key) {
+        try {
+            return properties.getProperty(key);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public static class OnR2dbcUrl implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return resolveUrl(context.getEnvironment()) != null;
+        }
+    }
+}
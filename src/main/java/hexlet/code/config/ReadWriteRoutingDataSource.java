@@ -0,0 +1,89 @@
+package hexlet.code.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Read-only transactions go to the replica, everything else to the primary.
+// A user whose write transaction committed keeps reading from the primary for readYourWritesWindow.
+// Entries older than the window are swept at most once per window, so the map only holds recent writers.
+// Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is known only after the transaction begins.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final Duration readYourWritesWindow;
+    private final Clock clock;
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow) {
+        this(primary, replica, readYourWritesWindow, Clock.systemUTC());
+    }
+
+    ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow, Clock clock) {
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.clock = clock;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        var user = currentUser();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && !readYourWritesWindow.isZero()
+                    && TransactionSynchronizationManager.isSynchronizationActive()) {
+                // the replica can only lag behind a write once it committed; a rollback changes nothing
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recordWrite(user);
+                    }
+                });
+            }
+            return Route.PRIMARY;
+        }
+
+        if (user != null) {
+            var lastWrite = lastWriteByUser.get(user);
+            if (lastWrite != null) {
+                if (clock.millis() - lastWrite < readYourWritesWindow.toMillis()) {
+                    return Route.PRIMARY;
+                }
+                lastWriteByUser.remove(user, lastWrite);
+            }
+        }
+        return Route.REPLICA;
+    }
+
+    int trackedUsers() {
+        return lastWriteByUser.size();
+    }
+
+    private void recordWrite(String user) {
+        var now = clock.millis();
+        lastWriteByUser.put(user, now);
+
+        var window = readYourWritesWindow.toMillis();
+        var previousSweep = lastSweep.get();
+        if (now - previousSweep >= window && lastSweep.compareAndSet(previousSweep, now)) {
+            lastWriteByUser.values().removeIf(lastWrite -> now - lastWrite >= window);
+        }
+    }
+
+    private String currentUser() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
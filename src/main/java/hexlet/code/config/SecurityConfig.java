@@ -1,10 +1,12 @@
 package hexlet.code.config;
 
+import hexlet.code.component.AdminProperties;
 import hexlet.code.service.CustomUserDetailsService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
@@ -12,8 +14,11 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
 
@@ -27,8 +32,13 @@ public class SecurityConfig {
     public SecurityFilterChain securityFilterChain(
             HttpSecurity http,
             HandlerMappingIntrospector introspector,
-            JwtDecoder jwtDecoder)
+            JwtDecoder jwtDecoder,
+            AdminProperties adminProperties)
             throws Exception {
+        var jwtAuthenticationConverter = new JwtAuthenticationConverter();
+        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(
+                jwt -> adminProperties.authoritiesFor(jwt.getSubject()));
+
         return http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
@@ -38,6 +48,8 @@ public class SecurityConfig {
                         .requestMatchers("/index.html").permitAll()
                         .requestMatchers("/assets/**").permitAll()  // статические ресурсы
                         .requestMatchers("/favicon.ico").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/slowqueries/**").hasRole(AdminProperties.ROLE)
                         // PROTECTED endpoints - требуют аутентификации
                         .requestMatchers("/api/users**").authenticated()
                         .requestMatchers("/api/labels**").authenticated()
@@ -46,7 +58,8 @@ public class SecurityConfig {
                         .anyRequest().authenticated() // все остальное требует аутентификации
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .oauth2ResourceServer(rs -> rs.jwt(jwt -> jwt.decoder(jwtDecoder)))
+                .oauth2ResourceServer(rs -> rs.jwt(jwt -> jwt.decoder(jwtDecoder)
+                        .jwtAuthenticationConverter(jwtAuthenticationConverter)))
                 .httpBasic(Customizer.withDefaults())
                 .build();
     }
@@ -60,8 +73,19 @@ public class SecurityConfig {
     @Bean
     public AuthenticationProvider daoAuthProvider(
             CustomUserDetailsService userService,
-            PasswordEncoder passwordEncoder) {
-        var provider = new DaoAuthenticationProvider();
+            PasswordEncoder passwordEncoder,
+            AdminProperties adminProperties) {
+        // users carry no authorities of their own, the admin role comes from configuration
+        var provider = new DaoAuthenticationProvider() {
+            @Override
+            protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+                                                                 UserDetails user) {
+                var result = UsernamePasswordAuthenticationToken.authenticated(principal,
+                        authentication.getCredentials(), adminProperties.authoritiesFor(user.getUsername()));
+                result.setDetails(authentication.getDetails());
+                return result;
+            }
+        };
         provider.setUserDetailsService(userService);
         provider.setPasswordEncoder(passwordEncoder);
         return provider;
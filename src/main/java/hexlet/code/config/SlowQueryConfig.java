@@ -0,0 +1,38 @@
+package hexlet.code.config;
+
+import hexlet.code.sql.SlowQueryListener;
+import hexlet.code.sql.SlowQueryLog;
+import hexlet.code.sql.SlowQueryProperties;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "app.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    // wraps the application DataSource, whether auto-configured or the routing one from DataSourceRoutingConfig
+    @Bean
+    static BeanPostProcessor slowQueryDataSourceProxy(
+            ObjectProvider<SlowQueryProperties> properties,
+            ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                var listener = new SlowQueryListener(properties.getObject(), slowQueryLog.getObject(), dataSource);
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(listener)
+                        .build();
+            }
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package hexlet.code.config;
+
+import hexlet.code.sql.CountingStatementInspector;
+import hexlet.code.sql.SqlBudgetProperties;
+import hexlet.code.sql.SqlLogProperties;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StatementInspectorConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer statementInspectorCustomizer(
+            SqlBudgetProperties budgetProperties,
+            SqlLogProperties logProperties) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                new CountingStatementInspector(budgetProperties, logProperties));
+    }
+}
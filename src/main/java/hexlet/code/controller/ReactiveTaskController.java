@@ -0,0 +1,33 @@
+package hexlet.code.controller;
+
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.repository.ReactiveTaskRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/reactive/tasks")
+@AllArgsConstructor
+public class ReactiveTaskController {
+
+    // absent when no R2DBC URL is configured, see R2dbcConfig
+    private final ObjectProvider<ReactiveTaskRepository> reactiveTaskRepository;
+
+    // streaming media types are written without an async timeout
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<TaskDTO> index(TaskParamsDTO params) {
+        var repository = reactiveTaskRepository.getIfAvailable();
+        if (repository == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Reactive streaming is not configured");
+        }
+        return repository.findAll(params);
+    }
+}
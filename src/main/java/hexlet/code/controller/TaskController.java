@@ -1,26 +1,43 @@
 package hexlet.code.controller;
 
+import hexlet.code.component.TaskChangeBroadcaster;
+import hexlet.code.dto.TaskChangesDTO;
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskFileFormat;
+import hexlet.code.dto.TaskImportResultDTO;
 import hexlet.code.dto.TaskParamsDTO;
 import hexlet.code.dto.TaskUpdateDTO;
+import hexlet.code.service.TaskChangeService;
+import hexlet.code.service.TaskImportService;
 import hexlet.code.service.TaskService;
+import hexlet.code.specification.TaskFilter;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -28,7 +45,12 @@ import java.util.List;
 @AllArgsConstructor
 public class TaskController {
 
+    private static final Duration EXPORT_TIMEOUT = Duration.ofMinutes(30);
+
     private final TaskService taskService;
+    private final TaskImportService taskImportService;
+    private final TaskChangeBroadcaster taskChangeBroadcaster;
+    private final TaskChangeService taskChangeService;
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
@@ -48,6 +70,44 @@ public class TaskController {
         return taskPage.getContent();
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            jakarta.servlet.http.HttpServletRequest request) {
+        var fileFormat = TaskFileFormat.from(format);
+        // a full export can outlast the container's default async timeout
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(EXPORT_TIMEOUT.toMillis());
+        StreamingResponseBody body = out -> taskService.export(fileFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(fileFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tasks." + fileFormat.getExtension())
+                .body(body);
+    }
+
+    @GetMapping("/changes")
+    @ResponseStatus(HttpStatus.OK)
+    public TaskChangesDTO changes(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        return taskChangeService.getChanges(since, limit);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            TaskParamsDTO params,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return taskChangeBroadcaster.subscribe(params, lastEventId != null);
+    }
+
+    @PostMapping("/import")
+    @ResponseStatus(HttpStatus.OK)
+    public TaskImportResultDTO importTasks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body) throws IOException {
+        return taskImportService.importTasks(TaskFileFormat.from(format), body);
+    }
+
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public TaskDTO show(@PathVariable Long id) {
@@ -73,9 +133,6 @@ public class TaskController {
     }
 
     private boolean isEmptyParams(TaskParamsDTO params) {
-        return params.getTitleCont() == null
-                && params.getAssigneeId() == null
-                && params.getStatus() == null
-                && params.getLabelId() == null;
+        return TaskFilter.of(params).isEmpty();
     }
 }
@@ -2,13 +2,19 @@ package hexlet.code.controller;
 
 import hexlet.code.dto.UserCreateDTO;
 import hexlet.code.dto.UserDTO;
+import hexlet.code.dto.UserParamsDTO;
 import hexlet.code.dto.UserUpdateDTO;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.repository.UserRepository;
 import hexlet.code.service.UserService;
+import hexlet.code.util.OffsetPageRequest;
 import hexlet.code.util.UserUtils;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,26 +24,66 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/users")
 @AllArgsConstructor
 public class UserController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final Set<String> SORTABLE_FIELDS =
+            Set.of("id", "firstName", "lastName", "email", "createdAt", "updatedAt");
+
     private final UserService userService;
     private final UserUtils userUtils;
     private final UserRepository userRepository;
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public List<UserDTO> index(jakarta.servlet.http.HttpServletResponse response) {
-        var users = userService.getAll();
-        response.setHeader("X-Total-Count", String.valueOf(users.size()));
-        return users;
+    public List<UserDTO> index(
+            @RequestParam(name = "_start", required = false) Integer start,
+            @RequestParam(name = "_end", required = false) Integer end,
+            @RequestParam(name = "_sort", defaultValue = "id") String sort,
+            @RequestParam(name = "_order", defaultValue = "ASC") String order,
+            UserParamsDTO params,
+            jakarta.servlet.http.HttpServletResponse response) {
+
+        var page = params.getPage();
+        var size = params.getSize();
+        var after = params.getAfter();
+
+        // keyset pagination: no offset scan and no count, the client follows X-Next-Cursor
+        if (after != null) {
+            int limit = pageSize(size != null ? size : DEFAULT_PAGE_SIZE);
+            var users = userService.getPageAfter(after, limit);
+            if (users.size() == limit) {
+                response.setHeader("X-Next-Cursor", String.valueOf(users.get(users.size() - 1).getId()));
+            }
+            return users;
+        }
+
+        Pageable pageable;
+        if (start != null && end != null) {
+            pageable = new OffsetPageRequest(start, pageSize(end - start), sort(sort, order));
+        } else if (page != null || size != null) {
+            int limit = pageSize(size != null ? size : DEFAULT_PAGE_SIZE);
+            pageable = PageRequest.of(Math.max(page != null ? page : 1, 1) - 1, limit, sort(sort, order));
+        } else {
+            // unpaged listing is capped at MAX_PAGE_SIZE users (documented in the README);
+            // X-Total-Count tells the client when the list was cut
+            pageable = PageRequest.of(0, MAX_PAGE_SIZE, sort(sort, order));
+        }
+
+        Page<UserDTO> users = userService.getPage(pageable);
+        response.setHeader("X-Total-Count", String.valueOf(users.getTotalElements()));
+        return users.getContent();
     }
 
     @PostMapping
@@ -46,6 +92,12 @@ public class UserController {
         return userService.create(userData);
     }
 
+    @GetMapping("/suggest")
+    @ResponseStatus(HttpStatus.OK)
+    public List<UserDTO> suggest(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        return userService.suggest(q, limit);
+    }
+
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public UserDTO show(@PathVariable Long id) {
@@ -71,4 +123,18 @@ public class UserController {
 
         userService.delete(id);
     }
+
+    private static int pageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    private static Sort sort(String field, String order) {
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + field);
+        }
+        return Sort.by(Sort.Direction.fromString(order), field);
+    }
 }
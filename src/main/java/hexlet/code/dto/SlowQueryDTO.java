@@ -0,0 +1,20 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class SlowQueryDTO {
+    private String sql;
+    private long elapsedMs;
+    private long executions;
+    private List<String> bindShape;
+    private Instant capturedAt;
+    private String plan;
+}
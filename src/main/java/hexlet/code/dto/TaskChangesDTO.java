@@ -0,0 +1,16 @@
+package hexlet.code.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class TaskChangesDTO {
+    private List<TaskDTO> changed = new ArrayList<>();
+    private List<Long> deleted = new ArrayList<>();
+    private long token;
+    private boolean hasMore;
+}
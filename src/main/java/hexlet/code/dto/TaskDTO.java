@@ -3,6 +3,7 @@ package hexlet.code.dto;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDate;
@@ -10,6 +11,7 @@ import java.util.List;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class TaskDTO {
     private Long id;
     private String title;
@@ -26,4 +28,16 @@ public class TaskDTO {
 
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
     private LocalDate createdAt;
+
+    // used by the export projection, label ids are filled in separately
+    public TaskDTO(Long id, String title, Integer index, String content, Long assigneeId, String status,
+                   LocalDate createdAt) {
+        this.id = id;
+        this.title = title;
+        this.index = index;
+        this.content = content;
+        this.assigneeId = assigneeId;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
 }
@@ -0,0 +1,15 @@
+package hexlet.code.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class TaskImportResultDTO {
+    private long imported;
+    private long failed;
+    private List<TaskImportErrorDTO> errors = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package hexlet.code.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class TaskImportRowDTO {
+    private String title;
+    private Integer index;
+    private String content;
+    private String status;
+
+    @JsonProperty("assignee_email")
+    private String assigneeEmail;
+
+    private List<String> labels = List.of();
+}
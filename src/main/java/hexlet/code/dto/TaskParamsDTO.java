@@ -3,6 +3,8 @@ package hexlet.code.dto;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+
 @Getter
 @Setter
 public class TaskParamsDTO {
@@ -10,4 +12,10 @@ public class TaskParamsDTO {
     private Long assigneeId;
     private String status;
     private Long labelId;
+    // lists accept both labelIds=1,2,3 and repeated parameters; the single-value filters above are merged in
+    private List<Long> assigneeIds;
+    private List<String> statuses;
+    private List<Long> labelIds;
+    // "any" (default) or "all" of labelIds
+    private String labelMatch;
 }
@@ -0,0 +1,12 @@
+package hexlet.code.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class UserParamsDTO {
+    private Integer page;
+    private Integer size;
+    private Long after;
+}
@@ -0,0 +1,12 @@
+package hexlet.code.event;
+
+import hexlet.code.dto.LabelDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class LabelChangedEvent {
+    private final ChangeType type;
+    private final LabelDTO label;
+}
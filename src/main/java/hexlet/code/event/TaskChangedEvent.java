@@ -0,0 +1,14 @@
+package hexlet.code.event;
+
+import hexlet.code.dto.TaskDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TaskChangedEvent {
+    private final ChangeType type;
+    private final TaskDTO task;
+    // state before an update, null for other change types
+    private final TaskDTO previous;
+}
@@ -0,0 +1,12 @@
+package hexlet.code.event;
+
+import hexlet.code.dto.TaskStatusDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TaskStatusChangedEvent {
+    private final ChangeType type;
+    private final TaskStatusDTO taskStatus;
+}
@@ -0,0 +1,12 @@
+package hexlet.code.event;
+
+import hexlet.code.dto.UserDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+    private final ChangeType type;
+    private final UserDTO user;
+}
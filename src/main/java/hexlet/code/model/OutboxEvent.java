@@ -0,0 +1,60 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+@Entity
+@Getter
+@Setter
+@ToString(includeFieldNames = true, onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Table(name = "outbox_events", indexes = @Index(name = "idx_outbox_events_pending", columnList = "published_at, id"))
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    @ToString.Include
+    private String aggregateType;
+
+    @ToString.Include
+    private Long aggregateId;
+
+    @Column(nullable = false, length = 32)
+    @ToString.Include
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private Instant publishedAt;
+
+    private int attempts;
+
+    // claimed by a relay, or waiting for the next retry, until then
+    private Instant availableAt;
+
+    // comma separated names of the sinks that already accepted the event
+    private String deliveredTo;
+
+    // set once app.outbox.max-attempts deliveries failed, parked events are no longer relayed
+    private Instant parkedAt;
+}
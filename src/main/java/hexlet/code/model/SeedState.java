@@ -0,0 +1,35 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+// Fingerprint of the last applied seed data set; written with plain JDBC by DataInitializer
+@Entity
+@Getter
+@Setter
+@ToString(includeFieldNames = true, onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Table(name = "seed_state")
+public class SeedState {
+
+    @Id
+    @Column(length = 64)
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private String name;
+
+    @Column(nullable = false, length = 64)
+    @ToString.Include
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private Instant appliedAt;
+}
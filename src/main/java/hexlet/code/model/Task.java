@@ -6,6 +6,7 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -62,7 +63,12 @@ public class Task {
     @JoinTable(
             name = "task_labels",
             joinColumns = @JoinColumn(name = "task_id"),
-            inverseJoinColumns = @JoinColumn(name = "label_id")
+            inverseJoinColumns = @JoinColumn(name = "label_id"),
+            // label filters probe by label, label batch loading by task
+            indexes = {
+                @Index(name = "idx_task_labels_label_task", columnList = "label_id, task_id"),
+                @Index(name = "idx_task_labels_task_label", columnList = "task_id, label_id")
+            }
     )
     private List<Label> labels = new ArrayList<>();
 
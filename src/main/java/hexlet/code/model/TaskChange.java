@@ -0,0 +1,51 @@
+package hexlet.code.model;
+
+import hexlet.code.event.ChangeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+// One row per task write. seq is the change token handed to sync clients; it is assigned only after the write
+// committed, so tokens follow commit order. taskId is not a foreign key so that delete tombstones outlive the task.
+@Entity
+@Getter
+@Setter
+@ToString(includeFieldNames = true, onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Table(name = "task_changes", indexes = @Index(name = "idx_task_changes_task", columnList = "task_id, seq"))
+public class TaskChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(unique = true)
+    @ToString.Include
+    private Long seq;
+
+    @Column(nullable = false)
+    @ToString.Include
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @ToString.Include
+    private ChangeType changeType;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+}
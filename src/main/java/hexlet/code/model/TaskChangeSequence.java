@@ -0,0 +1,33 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+// Single row: the last change token handed out and how far delete tombstones have been purged.
+// Locked while committed changes are sequenced, which serializes token assignment across nodes.
+@Entity
+@Getter
+@Setter
+@ToString(includeFieldNames = true, onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Table(name = "task_change_sequence")
+public class TaskChangeSequence {
+
+    public static final long ID = 1;
+
+    @Id
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @ToString.Include
+    private long lastSeq;
+
+    @ToString.Include
+    private long purgedThrough;
+}
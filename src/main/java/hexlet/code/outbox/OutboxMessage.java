@@ -0,0 +1,28 @@
+package hexlet.code.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import hexlet.code.model.OutboxEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+// What sinks receive. The id is stable across redeliveries, consumers deduplicate on it.
+@Getter
+@AllArgsConstructor
+public class OutboxMessage {
+    private final Long id;
+    private final String aggregateType;
+    private final Long aggregateId;
+    private final String eventType;
+
+    @JsonRawValue
+    private final String payload;
+
+    private final Instant createdAt;
+
+    public static OutboxMessage from(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+}
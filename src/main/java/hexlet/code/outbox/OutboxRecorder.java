@@ -0,0 +1,64 @@
+package hexlet.code.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.event.LabelChangedEvent;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.TaskStatusChangedEvent;
+import hexlet.code.event.UserChangedEvent;
+import hexlet.code.model.OutboxEvent;
+import hexlet.code.repository.OutboxEventRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
+// Plain (not transactional) listeners: the outbox row is written in the transaction that publishes the event
+// and commits or rolls back with the change itself. Nothing here leaves the database.
+@Component
+@AllArgsConstructor
+public class OutboxRecorder {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        record("TASK", event.getTask().getId(), event.getType().name(), event);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        record("USER", event.getUser().getId(), event.getType().name(), event);
+    }
+
+    @EventListener
+    public void onLabelChanged(LabelChangedEvent event) {
+        record("LABEL", event.getLabel().getId(), event.getType().name(), event);
+    }
+
+    @EventListener
+    public void onTaskStatusChanged(TaskStatusChangedEvent event) {
+        record("TASK_STATUS", event.getTaskStatus().getId(), event.getType().name(), event);
+    }
+
+    private void record(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        var outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateType(aggregateType);
+        outboxEvent.setAggregateId(aggregateId);
+        outboxEvent.setEventType(eventType);
+        outboxEvent.setPayload(toJson(payload));
+        outboxEvent.setCreatedAt(Instant.now());
+        outboxEventRepository.save(outboxEvent);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package hexlet.code.outbox;
+
+import hexlet.code.model.OutboxEvent;
+import hexlet.code.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Drains pending outbox rows in id order, batch by batch, to every sink. A batch is claimed in one short
+// transaction, delivered without holding it, and the outcome recorded in a second one. Each event remembers
+// which sinks accepted it, so a retry only goes to the sinks that failed: delivery is at least once per sink.
+// Failed events are retried with exponential backoff and parked after max-attempts.
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    // longer than any sink may take, a relay that died mid-batch releases its claim after this
+    private static final Duration CLAIM_TIMEOUT = Duration.ofMinutes(5);
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofMinutes(10);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            List<OutboxSink> sinks,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.outbox.batch-size:100}") int batchSize,
+            @Value("${app.outbox.retention:7d}") Duration retention,
+            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${app.outbox.retry-backoff:1s}") Duration retryBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        List<OutboxEvent> events;
+        do {
+            events = transactionTemplate.execute(status -> claim());
+        } while (!events.isEmpty() && deliver(events) && events.size() == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval-ms:3600000}")
+    public void cleanup() {
+        transactionTemplate.executeWithoutResult(
+                status -> outboxEventRepository.deletePublishedBefore(Instant.now().minus(retention)));
+    }
+
+    private List<OutboxEvent> claim() {
+        var now = Instant.now();
+        var events = outboxEventRepository.findPending(now, PageRequest.ofSize(batchSize));
+        var claimedUntil = now.plus(CLAIM_TIMEOUT);
+        events.forEach(event -> event.setAvailableAt(claimedUntil));
+        return events;
+    }
+
+    // returns false when a sink failed, the rest of the backlog waits for the next run
+    private boolean deliver(List<OutboxEvent> events) {
+        var delivered = new HashMap<Long, Set<String>>();
+        events.forEach(event -> delivered.put(event.getId(), deliveredTo(event)));
+        var succeeded = true;
+
+        for (var sink : sinks) {
+            var pending = events.stream()
+                    .filter(event -> !delivered.get(event.getId()).contains(sink.name()))
+                    .toList();
+            if (pending.isEmpty()) {
+                continue;
+            }
+            try {
+                sink.deliver(pending.stream().map(OutboxMessage::from).toList());
+                pending.forEach(event -> delivered.get(event.getId()).add(sink.name()));
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                succeeded = false;
+                log.warn("Outbox sink {} failed for events {}..{}, will retry: {}", sink.name(),
+                        pending.get(0).getId(), pending.get(pending.size() - 1).getId(), e.getMessage());
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> record(delivered));
+        return succeeded;
+    }
+
+    private void record(Map<Long, Set<String>> delivered) {
+        var now = Instant.now();
+        var sinkNames = sinks.stream().map(OutboxSink::name).toList();
+
+        for (var event : outboxEventRepository.findAllById(delivered.keySet())) {
+            var accepted = delivered.get(event.getId());
+            event.setDeliveredTo(String.join(",", accepted));
+            if (accepted.containsAll(sinkNames)) {
+                event.setPublishedAt(now);
+                event.setAvailableAt(null);
+                continue;
+            }
+            event.setAttempts(event.getAttempts() + 1);
+            if (event.getAttempts() >= maxAttempts) {
+                event.setParkedAt(now);
+                log.error("Outbox event {} parked after {} attempts, delivered only to [{}]",
+                        event.getId(), event.getAttempts(), event.getDeliveredTo());
+            } else {
+                event.setAvailableAt(now.plus(backoff(event.getAttempts())));
+            }
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        var backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(MAX_RETRY_BACKOFF) > 0 ? MAX_RETRY_BACKOFF : backoff;
+    }
+
+    private static Set<String> deliveredTo(OutboxEvent event) {
+        var names = new TreeSet<String>();
+        if (StringUtils.hasText(event.getDeliveredTo())) {
+            names.addAll(Arrays.asList(event.getDeliveredTo().split(",")));
+        }
+        return names;
+    }
+}
@@ -0,0 +1,14 @@
+package hexlet.code.outbox;
+
+import java.util.List;
+
+// A destination for relayed events. Throwing fails the batch for this sink only, it is retried later,
+// so a sink may see the same message more than once.
+public interface OutboxSink {
+    void deliver(List<OutboxMessage> messages) throws Exception;
+
+    // recorded per event once the sink accepted it, must stay stable across releases
+    default String name() {
+        return getClass().getSimpleName();
+    }
+}
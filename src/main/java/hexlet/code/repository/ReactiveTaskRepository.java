@@ -0,0 +1,100 @@
+package hexlet.code.repository;
+
+import hexlet.code.config.R2dbcConfig;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.specification.TaskFilter;
+import io.r2dbc.spi.Readable;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Non-blocking counterpart of TaskFilterRepository for streaming reads.
+// The WHERE clause mirrors TaskFilterRepository, the label filters are subqueries so rows are not duplicated.
+@Repository
+@Conditional(R2dbcConfig.OnR2dbcUrl.class)
+@AllArgsConstructor
+public class ReactiveTaskRepository {
+
+    private static final int LABEL_BATCH_SIZE = 100;
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<TaskDTO> findAll(TaskParamsDTO params) {
+        var filter = TaskFilter.of(params);
+        var sql = new StringBuilder("""
+                SELECT t.id, t.title, t.index, t.content, t.assignee_id, s.slug, t.created_at
+                FROM tasks t
+                JOIN task_statuses s ON s.id = t.task_status_id
+                WHERE 1 = 1""");
+        var bindings = new HashMap<String, Object>();
+
+        if (filter.titleCont() != null) {
+            sql.append(" AND LOWER(t.title) LIKE :titleCont");
+            bindings.put("titleCont", "%" + filter.titleCont().toLowerCase() + "%");
+        }
+        if (!filter.assigneeIds().isEmpty()) {
+            sql.append(" AND t.assignee_id IN (:assigneeIds)");
+            bindings.put("assigneeIds", List.copyOf(filter.assigneeIds()));
+        }
+        if (!filter.statuses().isEmpty()) {
+            sql.append(" AND s.slug IN (:statuses)");
+            bindings.put("statuses", List.copyOf(filter.statuses()));
+        }
+        if (!filter.labelIds().isEmpty() && !filter.allLabels()) {
+            sql.append(" AND EXISTS (SELECT 1 FROM task_labels tl")
+                    .append(" WHERE tl.task_id = t.id AND tl.label_id IN (:labelIds))");
+            bindings.put("labelIds", List.copyOf(filter.labelIds()));
+        }
+        if (!filter.labelIds().isEmpty() && filter.allLabels()) {
+            sql.append(" AND (SELECT COUNT(DISTINCT tl.label_id) FROM task_labels tl")
+                    .append(" WHERE tl.task_id = t.id AND tl.label_id IN (:labelIds)) = :labelCount");
+            bindings.put("labelIds", List.copyOf(filter.labelIds()));
+            bindings.put("labelCount", (long) filter.labelIds().size());
+        }
+        sql.append(" ORDER BY t.id");
+
+        return databaseClient.sql(sql.toString())
+                .bindValues(bindings)
+                .map(ReactiveTaskRepository::toTask)
+                .all()
+                .buffer(LABEL_BATCH_SIZE)
+                .concatMap(this::withLabelIds);
+    }
+
+    private Flux<TaskDTO> withLabelIds(List<TaskDTO> tasks) {
+        var tasksById = new HashMap<Long, TaskDTO>();
+        tasks.forEach(task -> tasksById.put(task.getId(), task));
+
+        return databaseClient.sql("""
+                        SELECT task_id, label_id FROM task_labels
+                        WHERE task_id IN (:ids)
+                        ORDER BY label_id""")
+                .bind("ids", tasksById.keySet())
+                .map(row -> Map.entry(row.get("task_id", Long.class), row.get("label_id", Long.class)))
+                .all()
+                .doOnNext(link -> tasksById.get(link.getKey()).getTaskLabelIds().add(link.getValue()))
+                .thenMany(Flux.fromIterable(tasks));
+    }
+
+    private static TaskDTO toTask(Readable row) {
+        var task = new TaskDTO();
+        task.setId(row.get("id", Long.class));
+        task.setTitle(row.get("title", String.class));
+        task.setIndex(row.get("index", Integer.class));
+        task.setContent(row.get("content", String.class));
+        task.setAssigneeId(row.get("assignee_id", Long.class));
+        task.setStatus(row.get("slug", String.class));
+        task.setCreatedAt(row.get("created_at", LocalDate.class));
+        task.setTaskLabelIds(new ArrayList<>());
+        return task;
+    }
+}
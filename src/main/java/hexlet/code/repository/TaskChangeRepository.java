@@ -0,0 +1,53 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.TaskChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TaskChangeRepository extends JpaRepository<TaskChange, Long> {
+
+    @Query("select c from TaskChange c where c.seq > :since order by c.seq")
+    List<TaskChange> findAfter(@Param("since") long since, Pageable pageable);
+
+    @Query("select coalesce(max(c.seq), 0) from TaskChange c")
+    long findLatestToken();
+
+    boolean existsBySeqIsNull();
+
+    @Query("select c from TaskChange c where c.seq is null order by c.id")
+    List<TaskChange> findUnsequenced(Pageable pageable);
+
+    // rows written before tokens were assigned after commit keep their id as token
+    @Modifying
+    @Query("update TaskChange c set c.seq = c.id where c.seq is null")
+    int adoptIdsAsTokens();
+
+    @Modifying
+    @Query(value = "INSERT INTO task_changes (task_id, change_type, changed_at) "
+            + "SELECT t.id, 'CREATED', :changedAt FROM tasks t ORDER BY t.id", nativeQuery = true)
+    int backfill(@Param("changedAt") Instant changedAt);
+
+    // clients only ever see the latest change of a task, older ones are never read again
+    @Modifying
+    @Query("""
+            delete from TaskChange c where c.seq is not null
+            and exists (select n.id from TaskChange n where n.taskId = c.taskId and n.seq > c.seq)""")
+    int deleteSuperseded();
+
+    @Query("""
+            select max(c.seq) from TaskChange c
+            where c.changeType = hexlet.code.event.ChangeType.DELETED and c.changedAt < :before""")
+    Long findLastTombstoneBefore(@Param("before") Instant before);
+
+    @Modifying
+    @Query("delete from TaskChange c where c.changeType = hexlet.code.event.ChangeType.DELETED and c.seq <= :through")
+    int deleteTombstonesThrough(@Param("through") long through);
+}
@@ -0,0 +1,18 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.TaskChangeSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TaskChangeSequenceRepository extends JpaRepository<TaskChangeSequence, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from TaskChangeSequence s where s.id = " + TaskChangeSequence.ID)
+    Optional<TaskChangeSequence> lock();
+}
@@ -0,0 +1,115 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.model.Task;
+import hexlet.code.specification.TaskFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Filtered task pages from static JPQL instead of a Criteria tree built per request.
+// Title, assignees, statuses and labels (any or all) give 24 query shapes; each is rendered once with only
+// the predicates and joins it needs, so Hibernate interprets every shape once and serves the rest from its
+// query plan cache. Labels are matched with correlated subqueries: every task appears once, no DISTINCT,
+// and the count query counts tasks. Pages are ordered by id, the request's Sort is not applied.
+@Repository
+@AllArgsConstructor
+public class TaskFilterRepository {
+
+    private static final int TITLE = 1;
+    private static final int ASSIGNEES = 2;
+    private static final int STATUSES = 4;
+    private static final int ANY_LABEL = 8;
+    private static final int ALL_LABELS = 16;
+    private static final int SHAPES = 32;
+
+    private static final String[] SELECTS = new String[SHAPES];
+    private static final String[] COUNTS = new String[SHAPES];
+
+    static {
+        for (var shape = 0; shape < SHAPES; shape++) {
+            if ((shape & ANY_LABEL) != 0 && (shape & ALL_LABELS) != 0) {
+                continue;
+            }
+            // taskStatus and assignee are fetched for the mapper; labels are batch-loaded
+            SELECTS[shape] = "select t from Task t join fetch t.taskStatus s left join fetch t.assignee"
+                    + where(shape)
+                    + " order by t.id";
+            COUNTS[shape] = "select count(t) from Task t"
+                    + ((shape & STATUSES) != 0 ? " join t.taskStatus s" : "")
+                    + where(shape);
+        }
+    }
+
+    private final EntityManager entityManager;
+
+    public Page<Task> findAll(TaskParamsDTO params, Pageable pageable) {
+        var filter = TaskFilter.of(params);
+        var query = bind(entityManager.createQuery(SELECTS[shape(filter)], Task.class), filter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable,
+                () -> bind(entityManager.createQuery(COUNTS[shape(filter)], Long.class), filter).getSingleResult());
+    }
+
+    public TypedQuery<Task> selectQuery(TaskParamsDTO params) {
+        var filter = TaskFilter.of(params);
+        return bind(entityManager.createQuery(SELECTS[shape(filter)], Task.class), filter);
+    }
+
+    private static String where(int shape) {
+        var predicates = new ArrayList<String>();
+        if ((shape & TITLE) != 0) {
+            predicates.add("lower(t.title) like :titleCont");
+        }
+        if ((shape & ASSIGNEES) != 0) {
+            predicates.add("t.assignee.id in :assigneeIds");
+        }
+        if ((shape & STATUSES) != 0) {
+            predicates.add("s.slug in :statuses");
+        }
+        if ((shape & ANY_LABEL) != 0) {
+            predicates.add("exists (select l.id from t.labels l where l.id in :labelIds)");
+        }
+        if ((shape & ALL_LABELS) != 0) {
+            predicates.add("(select count(distinct l.id) from t.labels l where l.id in :labelIds) = :labelCount");
+        }
+        return predicates.isEmpty() ? "" : " where " + String.join(" and ", predicates);
+    }
+
+    private static int shape(TaskFilter filter) {
+        var labels = filter.allLabels() ? ALL_LABELS : ANY_LABEL;
+        return (filter.titleCont() != null ? TITLE : 0)
+                | (!filter.assigneeIds().isEmpty() ? ASSIGNEES : 0)
+                | (!filter.statuses().isEmpty() ? STATUSES : 0)
+                | (!filter.labelIds().isEmpty() ? labels : 0);
+    }
+
+    private static <T> TypedQuery<T> bind(TypedQuery<T> query, TaskFilter filter) {
+        if (filter.titleCont() != null) {
+            query.setParameter("titleCont", "%" + filter.titleCont().toLowerCase() + "%");
+        }
+        if (!filter.assigneeIds().isEmpty()) {
+            query.setParameter("assigneeIds", List.copyOf(filter.assigneeIds()));
+        }
+        if (!filter.statuses().isEmpty()) {
+            query.setParameter("statuses", List.copyOf(filter.statuses()));
+        }
+        if (!filter.labelIds().isEmpty()) {
+            query.setParameter("labelIds", List.copyOf(filter.labelIds()));
+            if (filter.allLabels()) {
+                query.setParameter("labelCount", (long) filter.labelIds().size());
+            }
+        }
+        return query;
+    }
+}
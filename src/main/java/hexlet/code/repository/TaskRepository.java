@@ -1,14 +1,49 @@
 package hexlet.code.repository;
 
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskLabelIdDTO;
 import hexlet.code.model.Task;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long> {
 
     Optional<Task> findByTitle(String title);
+
+    @Override
+    @EntityGraph(attributePaths = {"taskStatus", "assignee", "labels"})
+    List<Task> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"taskStatus", "assignee", "labels"})
+    Optional<Task> findById(Long id);
+
+    // labels are not part of the projection, they are read per batch with findLabelIds
+    @Query("select new hexlet.code.dto.TaskDTO(t.id, t.title, t.index, t.content, a.id, s.slug, t.createdAt)"
+            + " from Task t join t.taskStatus s left join t.assignee a order by t.id")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    Stream<TaskDTO> streamAll();
+
+    @Query("select new hexlet.code.dto.TaskLabelIdDTO(t.id, l.id) from Task t join t.labels l"
+            + " where t.id in :taskIds order by t.id, l.id")
+    List<TaskLabelIdDTO> findLabelIds(@Param("taskIds") Collection<Long> taskIds);
 }
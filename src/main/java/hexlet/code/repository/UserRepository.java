@@ -1,12 +1,31 @@
 package hexlet.code.repository;
 
+import hexlet.code.dto.UserDTO;
 import hexlet.code.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    // selects only the listed columns, the password digest is never read
+    String SELECT_DTO = "select new hexlet.code.dto.UserDTO("
+            + "u.id, u.firstName, u.lastName, u.email, u.createdAt, u.updatedAt) from User u";
+
     Optional<User> findByEmail(String email);
+
+    @Query("select u.email from User u")
+    List<String> findAllEmails();
+
+    @Query(SELECT_DTO)
+    List<UserDTO> findPage(Pageable pageable);
+
+    @Query(SELECT_DTO + " where u.id > :afterId order by u.id")
+    List<UserDTO> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
 }
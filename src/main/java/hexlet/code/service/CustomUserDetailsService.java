@@ -1,14 +1,20 @@
 package hexlet.code.service;
 
+import hexlet.code.component.RegisteredEmailFilter;
+import hexlet.code.dto.UserDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.UserChangedEvent;
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
@@ -16,18 +22,22 @@ public class CustomUserDetailsService implements UserDetailsManager {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RegisteredEmailFilter registeredEmailFilter;
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
 
     @Override
+    @Transactional
     public void createUser(UserDetails userData) {
         var user = (User) userData;
 
-        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
+        if (userExists(user.getEmail())) {
             throw new DataIntegrityViolationException("Email already exists: " + user.getEmail());
         }
 
@@ -35,9 +45,11 @@ public class CustomUserDetailsService implements UserDetailsManager {
         user.setPasswordDigest(passwordEncoder.encode(rawPassword));
 
         userRepository.save(user);
+        publish(ChangeType.CREATED, user);
     }
 
     @Override
+    @Transactional
     public void updateUser(UserDetails user) {
         var existingUser = (User) user;
 
@@ -47,13 +59,16 @@ public class CustomUserDetailsService implements UserDetailsManager {
         }
 
         userRepository.save(existingUser);
+        publish(ChangeType.UPDATED, existingUser);
     }
 
     @Override
+    @Transactional
     public void deleteUser(String username) {
         var user = userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         userRepository.delete(user);
+        publish(ChangeType.DELETED, user);
     }
 
     @Override
@@ -62,13 +77,21 @@ public class CustomUserDetailsService implements UserDetailsManager {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean userExists(String username) {
-        return userRepository.findByEmail(username).isPresent();
+        return registeredEmailFilter.mightBeRegistered(username) && userRepository.findByEmail(username).isPresent();
     }
 
+    @Transactional
     public User createUserWithRawPassword(User user, String rawPassword) {
         user.setPasswordDigest(rawPassword);
         createUser(user);
         return user;
     }
+
+    private void publish(ChangeType type, User user) {
+        var dto = new UserDTO(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+                user.getCreatedAt(), user.getUpdatedAt());
+        eventPublisher.publishEvent(new UserChangedEvent(type, dto));
+    }
 }
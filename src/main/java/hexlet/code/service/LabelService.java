@@ -13,5 +13,6 @@ public interface LabelService {
     LabelDTO create(LabelCreateDTO labelData);
     LabelDTO update(LabelUpdateDTO labelData, Long id);
     void delete(Long id);
+    List<LabelDTO> suggest(String query, int limit);
     Label findByName(String name);
 }
@@ -0,0 +1,9 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.TaskChangesDTO;
+
+public interface TaskChangeService {
+    TaskChangesDTO getChanges(long since, int limit);
+
+    long getLatestToken();
+}
@@ -0,0 +1,11 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.TaskFileFormat;
+import hexlet.code.dto.TaskImportResultDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface TaskImportService {
+    TaskImportResultDTO importTasks(TaskFileFormat format, InputStream input) throws IOException;
+}
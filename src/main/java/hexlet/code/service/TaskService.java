@@ -2,18 +2,24 @@ package hexlet.code.service;
 
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskFileFormat;
 import hexlet.code.dto.TaskParamsDTO;
 import hexlet.code.dto.TaskUpdateDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 
 public interface TaskService {
     List<TaskDTO> getAll();
     Page<TaskDTO> getFiltered(TaskParamsDTO params, Pageable pageable);
     TaskDTO findById(Long id);
+    List<TaskDTO> findAllById(Collection<Long> ids);
     TaskDTO create(TaskCreateDTO taskData);
     TaskDTO update(TaskUpdateDTO taskData, Long id);
     void delete(Long id);
+    void export(TaskFileFormat format, OutputStream out) throws IOException;
 }
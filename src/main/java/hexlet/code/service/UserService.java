@@ -3,13 +3,17 @@ package hexlet.code.service;
 import hexlet.code.dto.UserCreateDTO;
 import hexlet.code.dto.UserDTO;
 import hexlet.code.dto.UserUpdateDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
 public interface UserService {
-    List<UserDTO> getAll();
+    Page<UserDTO> getPage(Pageable pageable);
+    List<UserDTO> getPageAfter(long afterId, int size);
     UserDTO findById(Long id);
     UserDTO create(UserCreateDTO userData);
     UserDTO update(UserUpdateDTO userData, Long id);
     void delete(Long id);
+    List<UserDTO> suggest(String query, int limit);
 }
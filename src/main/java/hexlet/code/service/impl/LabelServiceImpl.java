@@ -1,15 +1,20 @@
 package hexlet.code.service.impl;
 
+import hexlet.code.component.LabelSuggestIndex;
 import hexlet.code.dto.LabelCreateDTO;
 import hexlet.code.dto.LabelDTO;
 import hexlet.code.dto.LabelUpdateDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.LabelChangedEvent;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.LabelMapper;
 import hexlet.code.model.Label;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.service.LabelService;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -19,8 +24,11 @@ public class LabelServiceImpl implements LabelService {
 
     private final LabelRepository labelRepository;
     private final LabelMapper labelMapper;
+    private final LabelSuggestIndex labelSuggestIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(readOnly = true)
     public List<LabelDTO> getAll() {
         List<Label> labels = labelRepository.findAll();
         return labels.stream()
@@ -29,6 +37,7 @@ public class LabelServiceImpl implements LabelService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public LabelDTO findById(Long id) {
         Label label = labelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Label Not Found: " + id));
@@ -36,31 +45,45 @@ public class LabelServiceImpl implements LabelService {
     }
 
     @Override
+    @Transactional
     public LabelDTO create(LabelCreateDTO labelData) {
         Label label = labelMapper.map(labelData);
         labelRepository.save(label);
-        return labelMapper.map(label);
+        LabelDTO dto = labelMapper.map(label);
+        eventPublisher.publishEvent(new LabelChangedEvent(ChangeType.CREATED, dto));
+        return dto;
     }
 
     @Override
+    @Transactional
     public LabelDTO update(LabelUpdateDTO labelData, Long id) {
         Label label = labelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Label Not Found: " + id));
 
         labelMapper.update(labelData, label);
         labelRepository.save(label);
-        return labelMapper.map(label);
+        LabelDTO dto = labelMapper.map(label);
+        eventPublisher.publishEvent(new LabelChangedEvent(ChangeType.UPDATED, dto));
+        return dto;
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
         Label label = labelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Label Not Found: " + id));
 
         labelRepository.delete(label);
+        eventPublisher.publishEvent(new LabelChangedEvent(ChangeType.DELETED, labelMapper.map(label)));
+    }
+
+    @Override
+    public List<LabelDTO> suggest(String query, int limit) {
+        return labelSuggestIndex.suggest(query, limit);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Label findByName(String name) {
         return labelRepository.findByName(name)
                 .orElseThrow(() -> new ResourceNotFoundException("Label Not Found with name: " + name));
@@ -0,0 +1,188 @@
+package hexlet.code.service.impl;
+
+import hexlet.code.dto.TaskChangesDTO;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.mapper.TaskMapper;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskChange;
+import hexlet.code.model.TaskChangeSequence;
+import hexlet.code.repository.TaskChangeRepository;
+import hexlet.code.repository.TaskChangeSequenceRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.service.TaskChangeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Change rows get their token (seq) from a single locked counter, and only once they are visible to the
+// sequencing transaction, i.e. committed. A client that saw token N can therefore never miss a change
+// with a lower token. Superseded rows are compacted away; delete tombstones are kept for a retention period.
+@Slf4j
+@Service
+public class TaskChangeServiceImpl implements TaskChangeService {
+
+    private static final int MAX_LIMIT = 1000;
+    private static final int SEQUENCE_BATCH = 1000;
+
+    private final TaskChangeRepository taskChangeRepository;
+    private final TaskChangeSequenceRepository sequenceRepository;
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readTransaction;
+    private final Duration tombstoneRetention;
+
+    public TaskChangeServiceImpl(
+            TaskChangeRepository taskChangeRepository,
+            TaskChangeSequenceRepository sequenceRepository,
+            TaskRepository taskRepository,
+            TaskMapper taskMapper,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.tasks.changes.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.taskChangeRepository = taskChangeRepository;
+        this.sequenceRepository = sequenceRepository;
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.readTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readTransaction.setReadOnly(true);
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    // runs inside the writing transaction, so the change row commits or rolls back with the task
+    @EventListener
+    public void record(TaskChangedEvent event) {
+        var change = new TaskChange();
+        change.setTaskId(event.getTask().getId());
+        change.setChangeType(event.getType());
+        change.setChangedAt(Instant.now());
+        taskChangeRepository.save(change);
+    }
+
+    // tasks created before the change log existed are announced once as CREATED
+    @EventListener(ApplicationStartedEvent.class)
+    public void backfill() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sequenceRepository.existsById(TaskChangeSequence.ID)) {
+                taskChangeRepository.adoptIdsAsTokens();
+                var sequence = new TaskChangeSequence();
+                sequence.setId(TaskChangeSequence.ID);
+                sequence.setLastSeq(taskChangeRepository.findLatestToken());
+                sequenceRepository.save(sequence);
+            }
+            if (taskChangeRepository.count() == 0) {
+                var rows = taskChangeRepository.backfill(Instant.now());
+                if (rows > 0) {
+                    log.info("Task change log backfilled with {} existing tasks", rows);
+                }
+            }
+        });
+    }
+
+    @Override
+    public TaskChangesDTO getChanges(long since, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        sequencePending();
+        return readTransaction.execute(status -> readChanges(since, limit));
+    }
+
+    @Override
+    public long getLatestToken() {
+        sequencePending();
+        return taskChangeRepository.findLatestToken();
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.changes.compaction-interval-ms:3600000}")
+    public void compact() {
+        sequencePending();
+        transactionTemplate.executeWithoutResult(status -> {
+            var superseded = taskChangeRepository.deleteSuperseded();
+            var tombstones = 0;
+            var through = taskChangeRepository.findLastTombstoneBefore(Instant.now().minus(tombstoneRetention));
+            if (through != null) {
+                var sequence = sequenceRepository.lock().orElseThrow();
+                tombstones = taskChangeRepository.deleteTombstonesThrough(through);
+                sequence.setPurgedThrough(Math.max(sequence.getPurgedThrough(), through));
+            }
+            log.info("Task change log compacted: {} superseded changes and {} expired tombstones removed",
+                    superseded, tombstones);
+        });
+    }
+
+    // only sees committed rows; the counter lock keeps concurrent sequencers from interleaving
+    private void sequencePending() {
+        if (!taskChangeRepository.existsBySeqIsNull()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            var sequence = sequenceRepository.lock().orElseThrow();
+            List<TaskChange> pending;
+            do {
+                pending = taskChangeRepository.findUnsequenced(PageRequest.ofSize(SEQUENCE_BATCH));
+                for (var change : pending) {
+                    sequence.setLastSeq(sequence.getLastSeq() + 1);
+                    change.setSeq(sequence.getLastSeq());
+                }
+                taskChangeRepository.flush();
+            } while (pending.size() == SEQUENCE_BATCH);
+        });
+    }
+
+    private TaskChangesDTO readChanges(long since, int limit) {
+        var purgedThrough = sequenceRepository.findById(TaskChangeSequence.ID)
+                .map(TaskChangeSequence::getPurgedThrough)
+                .orElse(0L);
+        if (since > 0 && since < purgedThrough) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Token " + since + " has expired, sync again from 0");
+        }
+        var fetched = taskChangeRepository.findAfter(since, PageRequest.ofSize(limit));
+
+        var latestByTask = new LinkedHashMap<Long, ChangeType>();
+        var result = new TaskChangesDTO();
+        result.setToken(since);
+        for (var change : fetched) {
+            latestByTask.put(change.getTaskId(), change.getChangeType());
+            result.setToken(change.getSeq());
+        }
+        result.setHasMore(fetched.size() == limit);
+
+        var liveIds = latestByTask.entrySet().stream()
+                .filter(entry -> entry.getValue() != ChangeType.DELETED)
+                .map(Map.Entry::getKey)
+                .toList();
+        var tasks = taskRepository.findAllById(liveIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        latestByTask.forEach((taskId, type) -> {
+            var task = tasks.get(taskId);
+            if (task != null) {
+                result.getChanged().add(taskMapper.map(task));
+            } else {
+                // deleted, possibly by a change beyond this page
+                result.getDeleted().add(taskId);
+            }
+        });
+        result.getChanged().sort(Comparator.comparing(TaskDTO::getId));
+        return result;
+    }
+}
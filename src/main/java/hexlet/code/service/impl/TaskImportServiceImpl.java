@@ -0,0 +1,365 @@
+package hexlet.code.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import hexlet.code.dto.TaskFileFormat;
+import hexlet.code.dto.TaskImportErrorDTO;
+import hexlet.code.dto.TaskImportResultDTO;
+import hexlet.code.dto.TaskImportRowDTO;
+import hexlet.code.event.TasksImportedEvent;
+import hexlet.code.service.TaskImportService;
+import hexlet.code.util.CsvReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Rows are parsed one at a time and written in chunks, each chunk in its own transaction
+// with JDBC batching. Status slugs, label names and assignee emails are resolved against maps
+// loaded once per import. A chunk the database rejects is retried row by row, so only the offending
+// rows are reported. PostgreSQL COPY is not used: label links need the generated task ids,
+// which COPY does not return; prod turns on reWriteBatchedInserts instead (application-prod.yml).
+@Slf4j
+@Service
+public class TaskImportServiceImpl implements TaskImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final String INSERT_TASK = """
+            INSERT INTO tasks (title, index, content, task_status_id, assignee_id, created_at)
+            VALUES (?, ?, ?, ?, ?, ?)""";
+    private static final String INSERT_TASK_LABEL = "INSERT INTO task_labels (task_id, label_id) VALUES (?, ?)";
+    private static final String INSERT_OUTBOX_EVENT = """
+            INSERT INTO outbox_events (aggregate_type, event_type, payload, created_at, attempts)
+            VALUES ('TASK', 'IMPORTED', ?, ?, 0)""";
+    private static final String INSERT_TASK_CHANGE =
+            "INSERT INTO task_changes (task_id, change_type, changed_at) VALUES (?, 'CREATED', ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader rowReader;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TaskImportServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.rowReader = objectMapper.readerFor(TaskImportRowDTO.class);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public TaskImportResultDTO importTasks(TaskFileFormat format, InputStream input) throws IOException {
+        var lookups = new Lookups(
+                loadIds("SELECT slug, id FROM task_statuses"),
+                loadIds("SELECT name, id FROM labels"),
+                loadIds("SELECT email, id FROM users"));
+        var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        var source = format == TaskFileFormat.CSV ? new CsvRowSource(reader) : new NdjsonRowSource(reader);
+
+        var result = new TaskImportResultDTO();
+        var chunk = new ArrayList<ResolvedRow>(CHUNK_SIZE);
+        long rowNumber = 0;
+
+        for (var row = source.next(); row != null; row = source.next()) {
+            rowNumber++;
+            try {
+                chunk.add(lookups.resolve(rowNumber, row.parse()));
+            } catch (IllegalArgumentException e) {
+                reportError(result, rowNumber, e.getMessage());
+                continue;
+            } catch (RuntimeException e) {
+                // whatever the row contains, it must not abort the rows after it
+                log.debug("Task import row {} rejected", rowNumber, e);
+                reportError(result, rowNumber, "Invalid row");
+                continue;
+            }
+            if (chunk.size() == CHUNK_SIZE) {
+                writeChunk(chunk, rowNumber, result);
+            }
+        }
+        writeChunk(chunk, rowNumber, result);
+
+        log.info("Task import finished: {} imported, {} failed", result.getImported(), result.getFailed());
+        if (result.getImported() > 0) {
+            eventPublisher.publishEvent(new TasksImportedEvent(result.getImported()));
+        }
+        return result;
+    }
+
+    private void writeChunk(List<ResolvedRow> chunk, long lastRowNumber, TaskImportResultDTO result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(chunk));
+            result.setImported(result.getImported() + chunk.size());
+        } catch (DataAccessException e) {
+            log.warn("Task import chunk ending at row {} rejected, retrying row by row: {}",
+                    lastRowNumber, e.getMostSpecificCause().getMessage());
+            for (var row : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                    result.setImported(result.getImported() + 1);
+                } catch (DataAccessException rowError) {
+                    reportError(result, row.rowNumber(), rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        log.info("Task import progress: {} rows read, {} imported", lastRowNumber, result.getImported());
+        chunk.clear();
+    }
+
+    private void insert(List<ResolvedRow> rows) {
+        var keyHolder = new GeneratedKeyHolder();
+        var today = Date.valueOf(LocalDate.now());
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_TASK, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        var row = rows.get(i);
+                        ps.setString(1, row.title());
+                        ps.setObject(2, row.index(), Types.INTEGER);
+                        ps.setString(3, row.content());
+                        ps.setLong(4, row.statusId());
+                        ps.setObject(5, row.assigneeId(), Types.BIGINT);
+                        ps.setDate(6, today);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder);
+
+        var keys = keyHolder.getKeyList();
+        var taskIds = new ArrayList<Long>(rows.size());
+        var links = new ArrayList<long[]>();
+        for (var i = 0; i < rows.size(); i++) {
+            var taskId = ((Number) keys.get(i).get("id")).longValue();
+            taskIds.add(taskId);
+            rows.get(i).labelIds().forEach(labelId -> links.add(new long[] {taskId, labelId}));
+        }
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TASK_LABEL, links, links.size(), (ps, link) -> {
+                ps.setLong(1, link[0]);
+                ps.setLong(2, link[1]);
+            });
+        }
+
+        var changedAt = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_TASK_CHANGE, taskIds, taskIds.size(), (ps, taskId) -> {
+            ps.setLong(1, taskId);
+            ps.setTimestamp(2, changedAt);
+        });
+        // one outbox event per chunk rather than per row
+        jdbcTemplate.update(INSERT_OUTBOX_EVENT, toJson(Map.of("taskIds", taskIds)), changedAt);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, Long> loadIds(String sql) {
+        var ids = new HashMap<String, Long>();
+        jdbcTemplate.query(sql, rs -> {
+            ids.put(rs.getString(1), rs.getLong(2));
+        });
+        return ids;
+    }
+
+    private static void reportError(TaskImportResultDTO result, long rowNumber, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new TaskImportErrorDTO(rowNumber, message));
+        }
+    }
+
+    private record ResolvedRow(long rowNumber, String title, Integer index, String content,
+                               long statusId, Long assigneeId, List<Long> labelIds) {
+    }
+
+    private record Lookups(Map<String, Long> statuses, Map<String, Long> labels, Map<String, Long> users) {
+
+        ResolvedRow resolve(long rowNumber, TaskImportRowDTO row) {
+            if (row == null) {
+                throw new IllegalArgumentException("Row is empty");
+            }
+            if (row.getTitle() == null || row.getTitle().isBlank()) {
+                throw new IllegalArgumentException("title must not be blank");
+            }
+            var statusId = statuses.get(row.getStatus());
+            if (statusId == null) {
+                throw new IllegalArgumentException("Unknown status: " + row.getStatus());
+            }
+            Long assigneeId = null;
+            if (row.getAssigneeEmail() != null && !row.getAssigneeEmail().isBlank()) {
+                assigneeId = users.get(row.getAssigneeEmail());
+                if (assigneeId == null) {
+                    throw new IllegalArgumentException("Unknown assignee: " + row.getAssigneeEmail());
+                }
+            }
+            var labelIds = new ArrayList<Long>();
+            // an explicit "labels": null means no labels
+            var names = row.getLabels() == null ? List.<String>of() : row.getLabels();
+            for (var name : names) {
+                var labelId = labels.get(name);
+                if (labelId == null) {
+                    throw new IllegalArgumentException("Unknown label: " + name);
+                }
+                labelIds.add(labelId);
+            }
+            return new ResolvedRow(rowNumber, row.getTitle(), row.getIndex(), row.getContent(),
+                    statusId, assigneeId, labelIds);
+        }
+    }
+
+    // A row is read eagerly but parsed lazily, so a malformed row is reported without aborting the import
+    private interface RawRow {
+        TaskImportRowDTO parse();
+    }
+
+    private interface RowSource {
+        RawRow next() throws IOException;
+    }
+
+    private final class NdjsonRowSource implements RowSource {
+
+        private final BufferedReader reader;
+
+        NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            var line = reader.readLine();
+            while (line != null && line.isBlank()) {
+                line = reader.readLine();
+            }
+            if (line == null) {
+                return null;
+            }
+            var json = line;
+            return () -> {
+                try {
+                    return rowReader.readValue(json);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+                }
+            };
+        }
+    }
+
+    private static final class CsvRowSource implements RowSource {
+
+        private final CsvReader reader;
+        private Map<String, Integer> columns;
+
+        CsvRowSource(BufferedReader reader) {
+            this.reader = new CsvReader(reader);
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            if (columns == null) {
+                var header = reader.readRecord();
+                if (header == null) {
+                    return null;
+                }
+                columns = new HashMap<>();
+                for (var i = 0; i < header.size(); i++) {
+                    columns.put(header.get(i).trim(), i);
+                }
+            }
+            List<String> record;
+            try {
+                record = reader.readRecord();
+                while (record != null && record.size() == 1 && record.get(0).isBlank()) {
+                    record = reader.readRecord();
+                }
+            } catch (IllegalArgumentException e) {
+                // an unterminated quote runs to the end of the input, so this is the last row
+                return () -> {
+                    throw e;
+                };
+            }
+            if (record == null) {
+                return null;
+            }
+            var fields = record;
+            return () -> toRow(fields);
+        }
+
+        private TaskImportRowDTO toRow(List<String> fields) {
+            var row = new TaskImportRowDTO();
+            row.setTitle(field(fields, "title"));
+            row.setContent(field(fields, "content"));
+            row.setStatus(field(fields, "status"));
+            row.setAssigneeEmail(field(fields, "assignee_email"));
+
+            var index = field(fields, "index");
+            if (index != null) {
+                try {
+                    row.setIndex(Integer.valueOf(index.trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("index is not a number: " + index);
+                }
+            }
+
+            var labels = field(fields, "labels");
+            if (labels != null) {
+                row.setLabels(Arrays.stream(labels.split(";"))
+                        .map(String::trim)
+                        .filter(name -> !name.isEmpty())
+                        .toList());
+            }
+            return row;
+        }
+
+        private String field(List<String> fields, String name) {
+            var position = columns.get(name);
+            if (position == null || position >= fields.size() || fields.get(position).isEmpty()) {
+                return null;
+            }
+            return fields.get(position);
+        }
+    }
+}
@@ -1,32 +1,49 @@
 package hexlet.code.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskFileFormat;
+import hexlet.code.dto.TaskLabelIdDTO;
 import hexlet.code.dto.TaskParamsDTO;
 import hexlet.code.dto.TaskUpdateDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.TaskChangedEvent;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskMapper;
 import hexlet.code.model.Task;
+import hexlet.code.repository.TaskFilterRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.service.TaskService;
-import hexlet.code.specification.TaskSpecification;
+import hexlet.code.util.TaskExportWriter;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class TaskServiceImpl implements TaskService {
 
+    private static final int EXPORT_BATCH_SIZE = 1000;
+
     private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
-    private final TaskSpecification taskSpecification;
+    private final TaskFilterRepository taskFilterRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDTO> getAll() {
         List<Task> tasks = taskRepository.findAll();
         return tasks.stream()
@@ -35,39 +52,94 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<TaskDTO> getFiltered(TaskParamsDTO params, Pageable pageable) {
-        Specification<Task> spec = taskSpecification.build(params);
-        Page<Task> tasks = taskRepository.findAll(spec, pageable);
+        Page<Task> tasks = taskFilterRepository.findAll(params, pageable);
         return tasks.map(taskMapper::map);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TaskDTO findById(Long id) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task Not Found: " + id));
         return taskMapper.map(task);
     }
 
+    // not read-only: callers look up tasks right after they were written, which a replica may not have yet
     @Override
+    @Transactional
+    public List<TaskDTO> findAllById(Collection<Long> ids) {
+        return taskRepository.findAllById(ids).stream()
+                .map(taskMapper::map)
+                .toList();
+    }
+
+    @Override
+    @Transactional
     public TaskDTO create(TaskCreateDTO taskData) {
         Task task = taskMapper.map(taskData);
         taskRepository.save(task);
-        return taskMapper.map(task);
+        TaskDTO dto = taskMapper.map(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(ChangeType.CREATED, dto, null));
+        return dto;
     }
 
     @Override
+    @Transactional
     public TaskDTO update(TaskUpdateDTO taskData, Long id) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task Not Found: " + id));
+        TaskDTO previous = taskMapper.map(task);
         taskMapper.update(taskData, task);
         taskRepository.save(task);
-        return taskMapper.map(task);
+        TaskDTO dto = taskMapper.map(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(ChangeType.UPDATED, dto, previous));
+        return dto;
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task Not Found: " + id));
+        TaskDTO dto = taskMapper.map(task);
         taskRepository.delete(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(ChangeType.DELETED, dto, null));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(TaskFileFormat format, OutputStream out) throws IOException {
+        var writer = TaskExportWriter.create(format, out, objectMapper);
+        var batch = new ArrayList<TaskDTO>(EXPORT_BATCH_SIZE);
+
+        try (var tasks = taskRepository.streamAll()) {
+            for (var iterator = tasks.iterator(); iterator.hasNext();) {
+                batch.add(iterator.next());
+                if (batch.size() == EXPORT_BATCH_SIZE) {
+                    writeExportBatch(writer, batch);
+                }
+            }
+        }
+        writeExportBatch(writer, batch);
+    }
+
+    // one task_labels query per batch instead of one per task
+    private void writeExportBatch(TaskExportWriter writer, List<TaskDTO> batch) throws IOException {
+        if (batch.isEmpty()) {
+            writer.flush();
+            return;
+        }
+        var ids = batch.stream().map(TaskDTO::getId).toList();
+        var labelIds = taskRepository.findLabelIds(ids).stream()
+                .collect(Collectors.groupingBy(TaskLabelIdDTO::getTaskId,
+                        Collectors.mapping(TaskLabelIdDTO::getLabelId, Collectors.toList())));
+        for (var task : batch) {
+            task.setTaskLabelIds(labelIds.getOrDefault(task.getId(), List.of()));
+            writer.write(task);
+        }
+        batch.clear();
+        writer.flush();
     }
 }
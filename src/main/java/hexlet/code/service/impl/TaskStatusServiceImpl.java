@@ -4,13 +4,17 @@ package hexlet.code.service.impl;
 import hexlet.code.dto.TaskStatusCreateDTO;
 import hexlet.code.dto.TaskStatusDTO;
 import hexlet.code.dto.TaskStatusUpdateDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.TaskStatusChangedEvent;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskStatusMapper;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.service.TaskStatusService;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -20,8 +24,10 @@ public class TaskStatusServiceImpl implements TaskStatusService {
 
     private final TaskStatusRepository taskStatusRepository;
     private final TaskStatusMapper taskStatusMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskStatusDTO> getAll() {
         List<TaskStatus> taskStatuses = taskStatusRepository.findAll();
         return taskStatuses.stream()
@@ -30,6 +36,7 @@ public class TaskStatusServiceImpl implements TaskStatusService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TaskStatusDTO findById(Long id) {
         TaskStatus taskStatus = taskStatusRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TaskStatus Not Found: " + id));
@@ -37,31 +44,40 @@ public class TaskStatusServiceImpl implements TaskStatusService {
     }
 
     @Override
+    @Transactional
     public TaskStatusDTO create(TaskStatusCreateDTO taskStatusData) {
         TaskStatus taskStatus = taskStatusMapper.map(taskStatusData);
         taskStatusRepository.save(taskStatus);
-        return taskStatusMapper.map(taskStatus);
+        TaskStatusDTO dto = taskStatusMapper.map(taskStatus);
+        eventPublisher.publishEvent(new TaskStatusChangedEvent(ChangeType.CREATED, dto));
+        return dto;
     }
 
     @Override
+    @Transactional
     public TaskStatusDTO update(TaskStatusUpdateDTO taskStatusData, Long id) {
         TaskStatus taskStatus = taskStatusRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TaskStatus Not Found: " + id));
 
         taskStatusMapper.update(taskStatusData, taskStatus);
         taskStatusRepository.save(taskStatus);
-        return taskStatusMapper.map(taskStatus);
+        TaskStatusDTO dto = taskStatusMapper.map(taskStatus);
+        eventPublisher.publishEvent(new TaskStatusChangedEvent(ChangeType.UPDATED, dto));
+        return dto;
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
         TaskStatus taskStatus = taskStatusRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TaskStatus Not Found: " + id));
 
         taskStatusRepository.delete(taskStatus);
+        eventPublisher.publishEvent(new TaskStatusChangedEvent(ChangeType.DELETED, taskStatusMapper.map(taskStatus)));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TaskStatus findBySlug(String slug) {
         return taskStatusRepository.findBySlug(slug)
                 .orElseThrow(() -> new ResourceNotFoundException("TaskStatus Not Found with slug: " + slug));
@@ -1,5 +1,6 @@
 package hexlet.code.service.impl;
 
+import hexlet.code.component.UserSuggestIndex;
 import hexlet.code.dto.UserCreateDTO;
 import hexlet.code.dto.UserDTO;
 import hexlet.code.dto.UserUpdateDTO;
@@ -10,7 +11,12 @@ import hexlet.code.repository.UserRepository;
 import hexlet.code.service.CustomUserDetailsService;
 import hexlet.code.service.UserService;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -21,16 +27,24 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final CustomUserDetailsService userDetailsService;
+    private final UserSuggestIndex userSuggestIndex;
 
     @Override
-    public List<UserDTO> getAll() {
-        List<User> users = userRepository.findAll();
-        return users.stream()
-                .map(userMapper::map)
-                .toList();
+    @Transactional(readOnly = true)
+    public Page<UserDTO> getPage(Pageable pageable) {
+        List<UserDTO> users = userRepository.findPage(pageable);
+        // the count query runs only when the total can't be derived from a short first or last page
+        return PageableExecutionUtils.getPage(users, pageable, userRepository::count);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<UserDTO> getPageAfter(long afterId, int size) {
+        return userRepository.findPageAfter(afterId, PageRequest.ofSize(size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public UserDTO findById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User Not Found: " + id));
@@ -38,6 +52,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserDTO create(UserCreateDTO userData) {
         User user = userMapper.map(userData);
         user.setPasswordDigest(userData.getPassword());
@@ -47,6 +62,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserDTO update(UserUpdateDTO userData, Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User Not Found: " + id));
@@ -64,10 +80,16 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User Not Found: " + id));
 
         userDetailsService.deleteUser(user.getEmail());
     }
+
+    @Override
+    public List<UserDTO> suggest(String query, int limit) {
+        return userSuggestIndex.suggest(query, limit);
+    }
 }
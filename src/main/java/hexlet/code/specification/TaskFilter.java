@@ -0,0 +1,69 @@
+package hexlet.code.specification;
+
+import hexlet.code.dto.TaskParamsDTO;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+// TaskParamsDTO normalized for the task queries: single values merged into their lists, duplicates dropped.
+// An empty set means the filter is not applied.
+public record TaskFilter(
+        String titleCont,
+        SortedSet<Long> assigneeIds,
+        SortedSet<String> statuses,
+        SortedSet<Long> labelIds,
+        boolean allLabels) {
+
+    // keeps IN lists, and with them the number of distinct SQL statements, bounded
+    public static final int MAX_VALUES = 100;
+
+    public static TaskFilter of(TaskParamsDTO params) {
+        var labelMatch = params.getLabelMatch() == null ? "any" : params.getLabelMatch().toLowerCase(Locale.ROOT);
+        if (!labelMatch.equals("any") && !labelMatch.equals("all")) {
+            throw new IllegalArgumentException("labelMatch must be 'any' or 'all'");
+        }
+        return new TaskFilter(
+                params.getTitleCont(),
+                merge("assigneeIds", params.getAssigneeId(), params.getAssigneeIds()),
+                merge("statuses", params.getStatus(), params.getStatuses()),
+                merge("labelIds", params.getLabelId(), params.getLabelIds()),
+                labelMatch.equals("all"));
+    }
+
+    public boolean isEmpty() {
+        return titleCont == null && assigneeIds.isEmpty() && statuses.isEmpty() && labelIds.isEmpty();
+    }
+
+    public boolean matches(String title, Long assigneeId, String status, Collection<Long> taskLabelIds) {
+        return (titleCont == null
+                    || title != null && title.toLowerCase(Locale.ROOT).contains(titleCont.toLowerCase(Locale.ROOT)))
+                && (assigneeIds.isEmpty() || assigneeIds.contains(assigneeId))
+                && (statuses.isEmpty() || statuses.contains(status))
+                && (labelIds.isEmpty() || matchesLabels(taskLabelIds != null ? taskLabelIds : List.of()));
+    }
+
+    private boolean matchesLabels(Collection<Long> taskLabelIds) {
+        return allLabels
+                ? taskLabelIds.containsAll(labelIds)
+                : labelIds.stream().anyMatch(taskLabelIds::contains);
+    }
+
+    private static <T extends Comparable<T>> SortedSet<T> merge(String name, T value, List<T> values) {
+        var merged = new TreeSet<T>();
+        if (value != null) {
+            merged.add(value);
+        }
+        if (values != null) {
+            values.stream().filter(Objects::nonNull).forEach(merged::add);
+        }
+        if (merged.size() > MAX_VALUES) {
+            throw new IllegalArgumentException(name + " accepts at most " + MAX_VALUES + " values");
+        }
+        return Collections.unmodifiableSortedSet(merged);
+    }
+}
@@ -0,0 +1,43 @@
+package hexlet.code.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Registered with Hibernate as hibernate.session_factory.statement_inspector.
+// Outside a tracked request (startup, scheduled jobs, async listeners) statements are not counted.
+// Sampling is a cheap alternative to org.hibernate.SQL at DEBUG: unsampled statements cost one random draw.
+@Slf4j(topic = "hexlet.code.sql.sample")
+public class CountingStatementInspector implements StatementInspector {
+
+    private final SqlBudgetProperties budgetProperties;
+    private final SqlLogProperties logProperties;
+
+    public CountingStatementInspector(SqlBudgetProperties budgetProperties, SqlLogProperties logProperties) {
+        this.budgetProperties = budgetProperties;
+        this.logProperties = logProperties;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        var sampleEvery = logProperties.getSampleEvery();
+        if (sampleEvery > 0 && ThreadLocalRandom.current().nextInt(sampleEvery) == 0) {
+            log.info("{}", sql);
+        }
+
+        var stats = SqlStatementTracker.current();
+        if (stats != null) {
+            var total = stats.record(sql);
+            if (budgetProperties.isFailOnExceed()) {
+                var endpoint = stats.getEndpoint();
+                var budget = budgetProperties.budgetFor(endpoint);
+                if (total > budget) {
+                    throw new SqlBudgetExceededException(
+                            endpoint + " exceeded its budget of " + budget + " SQL statements");
+                }
+            }
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,24 @@
+package hexlet.code.sql;
+
+import hexlet.code.dto.SlowQueryDTO;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Admins only (see SecurityConfig): plans are masked, but statement text still shows the schema.
+// Read-only, the list resets on restart.
+@Component
+@Endpoint(id = "slowqueries")
+@AllArgsConstructor
+public class SlowQueriesEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @ReadOperation
+    public List<SlowQueryDTO> slowQueries() {
+        return slowQueryLog.getWorst();
+    }
+}
@@ -0,0 +1,116 @@
+package hexlet.code.sql;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+// Sees every JDBC execution through the datasource-proxy wrapper set up in SlowQueryConfig.
+// Only the bind shape (parameter types) is kept; values live just long enough to run the EXPLAIN,
+// and the literals they turn into in the plan text are masked before it is stored.
+@Slf4j
+@AllArgsConstructor
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    // PostgreSQL plan lines carrying predicates, e.g. "Index Cond: (id = 5)"; other lines hold costs and timings
+    private static final Pattern CONDITION = Pattern.compile("(?:Cond|Filter): \\(");
+
+    private final SlowQueryProperties properties;
+    private final SlowQueryLog slowQueryLog;
+    // the unwrapped pool, so the EXPLAIN itself is not captured
+    private final DataSource target;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        var elapsedMs = execInfo.getElapsedTime();
+        if (execInfo.isBatch() || queryInfoList.size() != 1 || elapsedMs < properties.getThreshold().toMillis()) {
+            return;
+        }
+        var query = queryInfoList.get(0);
+        var sql = query.getQuery();
+        var parameters = parameters(query);
+        var bindShape = parameters.stream()
+                .map(value -> value == null ? "null" : value.getClass().getSimpleName())
+                .toList();
+
+        if (slowQueryLog.record(sql, elapsedMs, bindShape) && properties.isExplain() && explainable(sql, parameters)) {
+            slowQueryLog.explain(() -> explain(sql, elapsedMs, parameters));
+        }
+    }
+
+    // EXPLAIN ANALYZE executes the statement, so anything but a plain SELECT is never re-run
+    private static boolean explainable(String sql, List<Object> parameters) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")
+                && parameters.stream().noneMatch(value -> value instanceof InputStream || value instanceof Reader);
+    }
+
+    private static List<Object> parameters(QueryInfo query) {
+        var byIndex = new TreeMap<Integer, Object>();
+        if (!query.getParametersList().isEmpty()) {
+            for (var operation : query.getParametersList().get(0)) {
+                var args = operation.getArgs();
+                if (args.length > 1 && args[0] instanceof Integer index) {
+                    var isNull = "setNull".equals(operation.getMethod().getName());
+                    byIndex.put(index, isNull ? null : args[1]);
+                }
+            }
+        }
+        return new ArrayList<>(byIndex.values());
+    }
+
+    private void explain(String sql, long elapsedMs, List<Object> parameters) {
+        String plan;
+        try (var connection = target.getConnection()) {
+            var postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (var statement = connection.prepareStatement(
+                    (postgres ? "EXPLAIN (ANALYZE, BUFFERS) " : "EXPLAIN ") + sql)) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                try (var resultSet = statement.executeQuery()) {
+                    var lines = new StringJoiner("\n");
+                    while (resultSet.next()) {
+                        lines.add(redact(resultSet.getString(1), postgres));
+                    }
+                    plan = lines.toString();
+                }
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            log.debug("EXPLAIN failed for slow query: {}", e.getMessage());
+            plan = "EXPLAIN failed: " + redact(String.valueOf(e.getMessage()), false);
+        }
+        slowQueryLog.attachPlan(sql, elapsedMs, plan);
+    }
+
+    // bound values appear in plans as literals: quoted ones are always masked, numbers only where
+    // they cannot be a cost, row count or timing
+    static String redact(String line, boolean postgres) {
+        var masked = STRING_LITERAL.matcher(line).replaceAll("?");
+        if (!postgres || CONDITION.matcher(masked).find()) {
+            masked = NUMBER_LITERAL.matcher(masked).replaceAll("?");
+        }
+        return masked;
+    }
+}
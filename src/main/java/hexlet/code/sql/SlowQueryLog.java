@@ -0,0 +1,103 @@
+package hexlet.code.sql;
+
+import hexlet.code.dto.SlowQueryDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// The slowest distinct statements seen so far, keyed by statement text.
+// A new statement only gets in by beating the fastest one kept once the log is full.
+@Component
+public class SlowQueryLog {
+
+    private static final int EXPLAIN_QUEUE = 16;
+
+    private final SlowQueryProperties properties;
+    private final Map<String, Entry> entries = new HashMap<>();
+    // plans are captured one at a time; when the queue is full further requests are dropped
+    private final ThreadPoolExecutor explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(EXPLAIN_QUEUE), SlowQueryLog::explainerThread,
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    public SlowQueryLog(SlowQueryProperties properties) {
+        this.properties = properties;
+    }
+
+    // true when this execution is now the one kept for its statement, so its plan is worth capturing
+    public synchronized boolean record(String sql, long elapsedMs, List<String> bindShape) {
+        var entry = entries.get(sql);
+        if (entry != null) {
+            entry.executions++;
+            if (elapsedMs <= entry.elapsedMs) {
+                return false;
+            }
+        } else if (entries.size() >= properties.getCapacity()) {
+            var fastest = entries.values().stream().min(Comparator.comparingLong(e -> e.elapsedMs)).orElseThrow();
+            if (elapsedMs <= fastest.elapsedMs) {
+                return false;
+            }
+            entries.remove(fastest.sql);
+        }
+        if (entry == null) {
+            entry = new Entry(sql);
+            entries.put(sql, entry);
+        }
+        entry.elapsedMs = elapsedMs;
+        entry.bindShape = bindShape;
+        entry.capturedAt = Instant.now();
+        entry.plan = null;
+        return true;
+    }
+
+    // ignored when a slower execution replaced the one the plan was taken for
+    public synchronized void attachPlan(String sql, long elapsedMs, String plan) {
+        var entry = entries.get(sql);
+        if (entry != null && entry.elapsedMs == elapsedMs) {
+            entry.plan = plan;
+        }
+    }
+
+    public void explain(Runnable task) {
+        explainer.execute(task);
+    }
+
+    public synchronized List<SlowQueryDTO> getWorst() {
+        return entries.values().stream()
+                .sorted(Comparator.comparingLong((Entry e) -> e.elapsedMs).reversed())
+                .map(e -> new SlowQueryDTO(e.sql, e.elapsedMs, e.executions, e.bindShape, e.capturedAt, e.plan))
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainer.shutdownNow();
+    }
+
+    // a plan being captured must not keep the JVM from exiting
+    private static Thread explainerThread(Runnable runnable) {
+        var thread = new Thread(runnable, "slow-query-explain");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static final class Entry {
+        private final String sql;
+        private long elapsedMs;
+        private long executions = 1;
+        private List<String> bindShape;
+        private Instant capturedAt;
+        private String plan;
+
+        Entry(String sql) {
+            this.sql = sql;
+        }
+    }
+}
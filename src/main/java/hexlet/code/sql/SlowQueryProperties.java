@@ -0,0 +1,21 @@
+package hexlet.code.sql;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.slow-query")
+@Getter
+@Setter
+public class SlowQueryProperties {
+    private boolean enabled = true;
+    private Duration threshold = Duration.ofMillis(500);
+    // distinct statements kept, slowest first
+    private int capacity = 20;
+    // re-run captured SELECTs under EXPLAIN on a background thread
+    private boolean explain = true;
+}
@@ -0,0 +1,7 @@
+package hexlet.code.sql;
+
+public class SqlBudgetExceededException extends IllegalStateException {
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,105 @@
+package hexlet.code.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+// Counts the SQL statements each request runs, warns when an endpoint goes over its budget
+// or repeats a statement often enough to look like N+1, and leaves the counts on the request
+// under STATS_ATTRIBUTE for tests
+@Slf4j
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "app.sql-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATS_ATTRIBUTE = SqlStatementStats.class.getName();
+    public static final String COUNT_HEADER = "X-SQL-Count";
+
+    private final SqlBudgetProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var stats = new SqlStatementStats(() -> endpoint(request));
+        request.setAttribute(STATS_ATTRIBUTE, stats);
+        var target = properties.isExposeHeader() ? new CountHeaderResponse(response, stats) : response;
+
+        SqlStatementTracker.begin(stats);
+        try {
+            chain.doFilter(request, target);
+        } finally {
+            SqlStatementTracker.end();
+            if (target instanceof CountHeaderResponse countHeader) {
+                countHeader.writeHeader();
+            }
+            report(stats);
+        }
+    }
+
+    private void report(SqlStatementStats stats) {
+        if (stats.getTotal() == 0) {
+            return;
+        }
+        var endpoint = stats.getEndpoint();
+        var budget = properties.budgetFor(endpoint);
+        if (stats.getTotal() > budget) {
+            log.warn("{} ran {} SQL statements, budget is {}", endpoint, stats.getTotal(), budget);
+        }
+        stats.getRepeated(properties.getMaxRepeats()).forEach((sql, count) ->
+                log.warn("Possible N+1 in {}: statement ran {} times: {}", endpoint, count, sql));
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    // Headers must be set before the body is committed. Responses are rendered after the handler
+    // returns, so the count taken on first write is final except for streamed bodies.
+    private static final class CountHeaderResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementStats stats;
+
+        CountHeaderResponse(HttpServletResponse response, SqlStatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        void writeHeader() {
+            if (!isCommitted()) {
+                setIntHeader(COUNT_HEADER, stats.getTotal());
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package hexlet.code.sql;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.sql-budget")
+@Getter
+@Setter
+public class SqlBudgetProperties {
+    private boolean enabled = true;
+    // statements allowed per request unless the endpoint has its own budget
+    private int maxStatements = 30;
+    // the same statement text run more often than this in one request is reported as a likely N+1
+    private int maxRepeats = 10;
+    // throw from the statement that goes over budget instead of only logging at the end of the request
+    private boolean failOnExceed = false;
+    // adds an X-SQL-Count response header
+    private boolean exposeHeader = false;
+    // keyed by "METHOD /handler/{pattern}", e.g. "GET /api/tasks/{id}"
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    public int budgetFor(String endpoint) {
+        return endpoint == null ? maxStatements : endpoints.getOrDefault(endpoint, maxStatements);
+    }
+}
@@ -0,0 +1,15 @@
+package hexlet.code.sql;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.sql-log")
+@Getter
+@Setter
+public class SqlLogProperties {
+    // log every Nth statement to hexlet.code.sql.sample; 0 turns sampling off
+    private int sampleEvery = 0;
+}
@@ -0,0 +1,43 @@
+package hexlet.code.sql;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Statements prepared through Hibernate during one request. Statement text still carries
+// its ? placeholders, so the same query with different parameters counts as a repeat.
+public final class SqlStatementStats {
+
+    private final Supplier<String> endpoint;
+    private final Map<String, Integer> counts = new HashMap<>();
+    private int total;
+
+    public SqlStatementStats(Supplier<String> endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    int record(String sql) {
+        counts.merge(sql, 1, Integer::sum);
+        return ++total;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    // resolved lazily: the handler pattern is known only once the request has been mapped
+    public String getEndpoint() {
+        return endpoint.get();
+    }
+
+    public Map<String, Integer> getRepeated(int maxRepeats) {
+        var repeated = new LinkedHashMap<String, Integer>();
+        counts.forEach((sql, count) -> {
+            if (count > maxRepeats) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+}
@@ -0,0 +1,22 @@
+package hexlet.code.sql;
+
+// Binds the statement counter of the current request to its thread
+public final class SqlStatementTracker {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementTracker() {
+    }
+
+    public static void begin(SqlStatementStats stats) {
+        CURRENT.set(stats);
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+}
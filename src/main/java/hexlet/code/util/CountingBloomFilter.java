@@ -0,0 +1,70 @@
+package hexlet.code.util;
+
+// Bloom filter with 8-bit counters instead of bits, so entries can be removed.
+// mightContain() never returns false for an added entry; a saturated counter is never decremented.
+public final class CountingBloomFilter {
+
+    private static final int MAX_COUNT = 0xFF;
+
+    private final byte[] counters;
+    private final int hashFunctions;
+
+    public CountingBloomFilter(int expectedEntries, double falsePositiveRate) {
+        if (expectedEntries < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter sizing");
+        }
+        var size = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.counters = new byte[(int) Math.min(size, Integer.MAX_VALUE - 8)];
+        this.hashFunctions = Math.max(1, (int) Math.round((double) counters.length / expectedEntries * Math.log(2)));
+    }
+
+    public synchronized void add(String value) {
+        var hash = hash(value);
+        for (var i = 0; i < hashFunctions; i++) {
+            var index = index(hash, i);
+            if ((counters[index] & MAX_COUNT) < MAX_COUNT) {
+                counters[index]++;
+            }
+        }
+    }
+
+    // Only call for values that were added, otherwise other entries may become false negatives
+    public synchronized void remove(String value) {
+        var hash = hash(value);
+        for (var i = 0; i < hashFunctions; i++) {
+            var index = index(hash, i);
+            var count = counters[index] & MAX_COUNT;
+            if (count > 0 && count < MAX_COUNT) {
+                counters[index]--;
+            }
+        }
+    }
+
+    public synchronized boolean mightContain(String value) {
+        var hash = hash(value);
+        for (var i = 0; i < hashFunctions; i++) {
+            if (counters[index(hash, i)] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Kirsch-Mitzenmacher double hashing: both halves of one 64-bit hash give the k positions
+    private int index(long hash, int i) {
+        var combined = (int) hash + i * (int) (hash >>> 32);
+        return Math.floorMod(combined, counters.length);
+    }
+
+    // FNV-1a over the UTF-16 chars, finished with the SplitMix64 mixer
+    private static long hash(String value) {
+        var h = 0xcbf29ce484222325L;
+        for (var i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,71 @@
+package hexlet.code.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Case-insensitive prefix lookup over a few terms per entry.
+// Keys are "term\0id" in a skip list, so a search is a range scan; reads don't lock, writes are serialized.
+public final class PrefixIndex<T> {
+
+    private static final char SEPARATOR = '\u0000';
+    private static final int MAX_LIMIT = 50;
+
+    private final ConcurrentSkipListMap<String, T> entries = new ConcurrentSkipListMap<>();
+    private final Map<Long, List<String>> keysById = new ConcurrentHashMap<>();
+
+    public synchronized void put(long id, T value, Collection<String> terms) {
+        remove(id);
+        var keys = terms.stream()
+                .filter(Objects::nonNull)
+                .map(PrefixIndex::normalize)
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .map(term -> term + SEPARATOR + id)
+                .toList();
+        keys.forEach(key -> entries.put(key, value));
+        keysById.put(id, keys);
+    }
+
+    public synchronized void remove(long id) {
+        var keys = keysById.remove(id);
+        if (keys != null) {
+            keys.forEach(entries::remove);
+        }
+    }
+
+    public List<T> search(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        var from = normalize(prefix);
+        var seen = new HashSet<Long>();
+        var result = new ArrayList<T>(limit);
+
+        for (var entry : entries.tailMap(from).entrySet()) {
+            var key = entry.getKey();
+            if (!key.startsWith(from) || result.size() == limit) {
+                break;
+            }
+            var id = Long.parseLong(key.substring(key.lastIndexOf(SEPARATOR) + 1));
+            if (seen.add(id)) {
+                result.add(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return keysById.size();
+    }
+
+    private static String normalize(String term) {
+        return term.strip().toLowerCase(Locale.ROOT);
+    }
+}
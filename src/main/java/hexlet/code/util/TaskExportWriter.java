@@ -0,0 +1,125 @@
+package hexlet.code.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskFileFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+
+public interface TaskExportWriter {
+
+    void write(TaskDTO task) throws IOException;
+
+    void flush() throws IOException;
+
+    static TaskExportWriter create(TaskFileFormat format, OutputStream out, ObjectMapper objectMapper)
+            throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        return switch (format) {
+            case NDJSON -> new NdjsonWriter(writer, objectMapper);
+            case CSV -> new CsvWriter(writer, objectMapper);
+        };
+    }
+
+    final class NdjsonWriter implements TaskExportWriter {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter objectWriter;
+
+        NdjsonWriter(Writer writer, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null);
+            this.objectWriter = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        public void write(TaskDTO task) throws IOException {
+            objectWriter.writeValue(generator, task);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    // Columns are the JSON properties of TaskDTO, named and ordered as in the NDJSON export;
+    // values are read straight from the properties, list values are joined with ';'
+    final class CsvWriter implements TaskExportWriter {
+
+        private final Writer writer;
+        private final List<BeanPropertyWriter> columns = new ArrayList<>();
+
+        CsvWriter(Writer writer, ObjectMapper objectMapper) throws IOException {
+            this.writer = writer;
+            objectMapper.getSerializerProviderInstance()
+                    .findValueSerializer(TaskDTO.class)
+                    .properties()
+                    .forEachRemaining(property -> columns.add((BeanPropertyWriter) property));
+            for (var i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(columns.get(i).getName());
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(TaskDTO task) throws IOException {
+            for (var i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(value(columns.get(i), task));
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        private static String value(BeanPropertyWriter column, TaskDTO task) throws IOException {
+            Object value;
+            try {
+                value = column.get(task);
+            } catch (Exception e) {
+                throw new IOException("Cannot read " + column.getName(), e);
+            }
+            if (value instanceof Collection<?> values) {
+                var joined = new StringJoiner(";");
+                values.forEach(item -> joined.add(String.valueOf(item)));
+                return joined.toString();
+            }
+            return value == null ? "" : value.toString();
+        }
+
+        private void writeField(String text) throws IOException {
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
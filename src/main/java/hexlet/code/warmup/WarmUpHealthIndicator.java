@@ -0,0 +1,23 @@
+package hexlet.code.warmup;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+// "warmUp" in the readiness group: the load balancer only routes to nodes that finished warming up
+@Component
+@AllArgsConstructor
+public class WarmUpHealthIndicator implements HealthIndicator {
+
+    private final WarmUpRunner warmUpRunner;
+
+    @Override
+    public Health health() {
+        var health = warmUpRunner.isDone() ? Health.up() : Health.outOfService();
+        return health
+                .withDetail("requests", warmUpRunner.getRequests())
+                .withDetail("failures", warmUpRunner.getFailures())
+                .build();
+    }
+}
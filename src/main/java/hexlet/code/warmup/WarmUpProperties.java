@@ -0,0 +1,33 @@
+package hexlet.code.warmup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "app.warm-up")
+@Getter
+@Setter
+public class WarmUpProperties {
+    private boolean enabled = true;
+    // the requests are authenticated as this user
+    private String user = "hexlet@example.com";
+    // GET paths, each requested this many times
+    private List<String> paths = new ArrayList<>(List.of(
+            "/api/task_statuses",
+            "/api/labels",
+            "/api/labels/suggest?q=b",
+            "/api/users?page=1&size=20",
+            "/api/tasks?status=draft",
+            "/api/tasks?titleCont=e",
+            "/api/tasks/changes?limit=100"));
+    private int iterations = 300;
+    private int concurrency = 4;
+    // the node reports ready after this even if the iterations are not done
+    private Duration maxDuration = Duration.ofSeconds(60);
+}
@@ -0,0 +1,122 @@
+package hexlet.code.warmup;
+
+import hexlet.code.util.JWTUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Replays the main read endpoints over loopback HTTP once the application is up, against the real data,
+// so the JIT compiles the hot paths (security chain, JWT decoding, TaskMapper, Jackson, Hibernate queries)
+// and the lazily built caches fill before user traffic arrives. Until it finishes WarmUpHealthIndicator
+// keeps the readiness group OUT_OF_SERVICE.
+@Slf4j
+@Component
+public class WarmUpRunner {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final WarmUpProperties properties;
+    private final JWTUtils jwtUtils;
+    private final Environment environment;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile boolean done;
+
+    public WarmUpRunner(WarmUpProperties properties, JWTUtils jwtUtils, Environment environment) {
+        this.properties = properties;
+        this.jwtUtils = jwtUtils;
+        this.environment = environment;
+        this.done = !properties.isEnabled();
+    }
+
+    // after the other ready listeners, which load the suggest indexes
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void start() {
+        var port = environment.getProperty("local.server.port", Integer.class);
+        if (done || port == null) {
+            done = true;
+            return;
+        }
+        var thread = new Thread(() -> run(port), "warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    private void run(int port) {
+        var started = System.nanoTime();
+        var token = jwtUtils.generateToken(properties.getUser());
+        var host = environment.getProperty("server.address", "127.0.0.1").replace("0.0.0.0", "127.0.0.1");
+        var client = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+        var workers = Executors.newFixedThreadPool(properties.getConcurrency());
+
+        try {
+            // round-robin over the paths, so every endpoint gets its share if maxDuration cuts the run short
+            for (var i = 0; i < properties.getIterations(); i++) {
+                for (var path : properties.getPaths()) {
+                    var request = HttpRequest.newBuilder(URI.create("http://" + host + ":" + port + path))
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                            .timeout(REQUEST_TIMEOUT)
+                            .GET()
+                            .build();
+                    workers.execute(() -> send(client, request));
+                }
+            }
+            workers.shutdown();
+            if (!workers.awaitTermination(properties.getMaxDuration().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Warm-up cut short after {}", properties.getMaxDuration());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workers.shutdownNow();
+            done = true;
+        }
+        log.info("Warm-up finished in {} ms: {} requests, {} failed",
+                (System.nanoTime() - started) / 1_000_000, requests.get(), failures.get());
+    }
+
+    private void send(HttpClient client, HttpRequest request) {
+        try {
+            var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            requests.incrementAndGet();
+            if (response.statusCode() >= 400 && failures.getAndIncrement() == 0) {
+                log.warn("Warm-up request {} returned {}", request.uri(), response.statusCode());
+            }
+        } catch (IOException e) {
+            requests.incrementAndGet();
+            if (failures.getAndIncrement() == 0) {
+                log.warn("Warm-up request {} failed: {}", request.uri(), e.toString());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package hexlet.code.webhook;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.model.OutboxEvent;
+import hexlet.code.outbox.ApplicationEventOutboxSink;
+import hexlet.code.outbox.OutboxMessage;
+import hexlet.code.outbox.OutboxSink;
+import hexlet.code.repository.OutboxEventRepository;
+import hexlet.code.service.TaskService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Turns relayed task outbox messages into webhook events and delivers them per endpoint.
+// Each endpoint has its own bounded queue and concurrency limit, and requests are sent with sendAsync,
+// so a slow or failing receiver only delays its own deliveries. Nothing here runs on the request path.
+// The outbox counts a message as delivered once it is queued, so nothing queued is dropped silently:
+// a full queue rejects the message (the relay retries it), batches out of attempts are parked in the outbox
+// as WEBHOOK rows, and on shutdown whatever is still queued or unconfirmed goes back to the outbox as pending.
+@Slf4j
+@Component
+public class WebhookDispatcher {
+
+    static final String AGGREGATE_TYPE = "WEBHOOK";
+
+    private final WebhookProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TaskService taskService;
+    private final OutboxEventRepository outboxEventRepository;
+    // a stored batch is only for this dispatcher, the other sinks count as having accepted it
+    private final String otherSinks;
+    private final List<EndpointQueue> queues;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    public WebhookDispatcher(WebhookProperties properties, ObjectMapper objectMapper, TaskService taskService,
+                             OutboxEventRepository outboxEventRepository, List<OutboxSink> sinks) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.taskService = taskService;
+        this.outboxEventRepository = outboxEventRepository;
+        this.otherSinks = sinks.stream()
+                .filter(sink -> !(sink instanceof ApplicationEventOutboxSink))
+                .map(OutboxSink::name)
+                .collect(Collectors.joining(","));
+        this.httpClient = HttpClient.newBuilder().connectTimeout(properties.getTimeout()).build();
+        this.queues = properties.getEndpoints().stream().map(EndpointQueue::new).toList();
+    }
+
+    @EventListener
+    public void onOutboxMessage(OutboxMessage message) {
+        if (queues.isEmpty()) {
+            return;
+        }
+        if (AGGREGATE_TYPE.equals(message.getAggregateType())) {
+            onStoredBatch(message);
+            return;
+        }
+        if (!"TASK".equals(message.getAggregateType())) {
+            return;
+        }
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(message.getPayload());
+        } catch (JsonProcessingException e) {
+            // retrying would not make it readable, and throwing would hold back the other messages
+            log.warn("Outbox message {} has an unreadable payload, no webhook sent: {}",
+                    message.getId(), e.getOriginalMessage());
+            return;
+        }
+
+        if ("IMPORTED".equals(message.getEventType())) {
+            onImported(message, payload);
+            return;
+        }
+        var task = payload.get("task");
+        var previous = payload.get("previous");
+
+        var types = new ArrayList<WebhookEventType>();
+        if ("CREATED".equals(message.getEventType())) {
+            types.add(WebhookEventType.TASK_CREATED);
+        }
+        if ("UPDATED".equals(message.getEventType()) && previous != null && !previous.isNull()) {
+            if (!Objects.equals(text(task, "status"), text(previous, "status"))) {
+                types.add(WebhookEventType.TASK_STATUS_CHANGED);
+            }
+            if (!Objects.equals(text(task, "assignee_id"), text(previous, "assignee_id"))) {
+                types.add(WebhookEventType.TASK_ASSIGNED);
+            }
+        }
+
+        publish(types.stream()
+                .map(type -> new WebhookEvent(message.getId() + ":" + type.getValue(), type, message.getCreatedAt(),
+                        task))
+                .toList());
+    }
+
+    // an import chunk carries only the task ids: each task that still exists is announced as created
+    private void onImported(OutboxMessage message, JsonNode payload) {
+        var type = WebhookEventType.TASK_CREATED;
+        if (queues.stream().noneMatch(queue -> queue.endpoint.getEvents().contains(type))) {
+            return;
+        }
+        var taskIds = new ArrayList<Long>();
+        payload.path("taskIds").forEach(id -> taskIds.add(id.asLong()));
+        var events = new ArrayList<WebhookEvent>();
+        for (var task : taskService.findAllById(taskIds)) {
+            var id = message.getId() + ":" + task.getId() + ":" + type.getValue();
+            events.add(new WebhookEvent(id, type, message.getCreatedAt(), objectMapper.valueToTree(task)));
+        }
+        publish(events);
+    }
+
+    // a batch parked or saved at shutdown, requeued to the endpoint it was meant for
+    private void onStoredBatch(OutboxMessage message) {
+        String endpoint;
+        List<WebhookEvent> events;
+        try {
+            var payload = objectMapper.readTree(message.getPayload());
+            endpoint = payload.path("endpoint").asText();
+            events = Arrays.asList(objectMapper.treeToValue(payload.path("events"), WebhookEvent[].class));
+        } catch (JsonProcessingException e) {
+            log.warn("Outbox message {} has an unreadable webhook batch: {}", message.getId(), e.getOriginalMessage());
+            return;
+        }
+        var queue = queues.stream().filter(q -> q.endpoint.getName().equals(endpoint)).findFirst();
+        if (queue.isEmpty()) {
+            log.warn("Outbox message {} holds webhooks for {}, which is no longer configured",
+                    message.getId(), endpoint);
+            return;
+        }
+        queue.get().reserve(events.size());
+        queue.get().offerAll(events);
+    }
+
+    // all queues are checked before any is filled, so a rejected message leaves nothing half queued
+    private void publish(List<WebhookEvent> events) {
+        var targets = new ArrayList<Map.Entry<EndpointQueue, List<WebhookEvent>>>();
+        for (var queue : queues) {
+            var matching = events.stream()
+                    .filter(event -> queue.endpoint.getEvents().contains(event.getType()))
+                    .toList();
+            if (!matching.isEmpty()) {
+                queue.reserve(matching.size());
+                targets.add(Map.entry(queue, matching));
+            }
+        }
+        targets.forEach(target -> target.getKey().offerAll(target.getValue()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        for (var queue : queues) {
+            var unsent = queue.unsent();
+            if (!unsent.isEmpty()) {
+                store(queue.endpoint, unsent, null);
+            }
+        }
+    }
+
+    // parkedAt null stores the batch as pending, the relay hands it back to this dispatcher
+    private void store(WebhookProperties.Endpoint endpoint, List<WebhookEvent> events, Instant parkedAt) {
+        try {
+            var row = new OutboxEvent();
+            row.setAggregateType(AGGREGATE_TYPE);
+            row.setEventType(parkedAt == null ? "UNSENT" : "PARKED");
+            row.setPayload(objectMapper.writeValueAsString(Map.of("endpoint", endpoint.getName(), "events", events)));
+            row.setCreatedAt(Instant.now());
+            row.setDeliveredTo(otherSinks.isEmpty() ? null : otherSinks);
+            row.setParkedAt(parkedAt);
+            outboxEventRepository.save(row);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("{} webhook events for {} could not be stored in the outbox and are lost",
+                    events.size(), endpoint.getName(), e);
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        var value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private final class EndpointQueue {
+
+        private final WebhookProperties.Endpoint endpoint;
+        private final BlockingQueue<WebhookEvent> pending;
+        private final Semaphore inFlight;
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        // batches taken from the queue and not yet acknowledged or parked
+        private final Set<List<WebhookEvent>> outstanding = ConcurrentHashMap.newKeySet();
+
+        EndpointQueue(WebhookProperties.Endpoint endpoint) {
+            this.endpoint = endpoint;
+            this.pending = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+            this.inFlight = new Semaphore(endpoint.getConcurrency());
+        }
+
+        // only the relay thread adds events, so room checked here is still there when offerAll runs
+        void reserve(int count) {
+            if (pending.remainingCapacity() < count) {
+                throw new IllegalStateException("Webhook queue for " + endpoint.getName() + " is full");
+            }
+        }
+
+        void offerAll(List<WebhookEvent> events) {
+            for (var event : events) {
+                if (!pending.offer(event)) {
+                    throw new IllegalStateException("Webhook queue for " + endpoint.getName() + " is full");
+                }
+            }
+            // events arriving within the linger time are coalesced into one batch
+            if (flushScheduled.compareAndSet(false, true)) {
+                scheduler.schedule(this::flush, properties.getLinger().toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        List<WebhookEvent> unsent() {
+            var unsent = new ArrayList<WebhookEvent>();
+            outstanding.forEach(unsent::addAll);
+            pending.drainTo(unsent);
+            return unsent;
+        }
+
+        private void flush() {
+            flushScheduled.set(false);
+            while (!pending.isEmpty() && inFlight.tryAcquire()) {
+                var batch = new ArrayList<WebhookEvent>(properties.getMaxBatchSize());
+                pending.drainTo(batch, properties.getMaxBatchSize());
+                if (batch.isEmpty()) {
+                    inFlight.release();
+                    return;
+                }
+                outstanding.add(batch);
+                send(batch, 1);
+            }
+        }
+
+        private void send(List<WebhookEvent> batch, int attempt) {
+            HttpRequest request;
+            try {
+                request = HttpRequest.newBuilder(endpoint.getUrl())
+                        .timeout(properties.getTimeout())
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(
+                                objectMapper.writeValueAsBytes(Map.of("events", batch))))
+                        .build();
+            } catch (JsonProcessingException e) {
+                log.error("Webhook batch for {} could not be serialized", endpoint.getName(), e);
+                completed(batch);
+                return;
+            }
+
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error == null && response.statusCode() < 300) {
+                            completed(batch);
+                        } else {
+                            var reason = error != null ? error.toString() : "HTTP " + response.statusCode();
+                            retry(batch, attempt, reason);
+                        }
+                    });
+        }
+
+        // the permit stays taken while a batch waits for its retry, so a failing endpoint
+        // cannot have more than its concurrency limit of batches outstanding
+        private void retry(List<WebhookEvent> batch, int attempt, String reason) {
+            if (attempt >= properties.getMaxAttempts()) {
+                log.error("Webhook delivery to {} failed after {} attempts ({}), parking {} events in the outbox",
+                        endpoint.getName(), attempt, reason, batch.size());
+                store(endpoint, batch, Instant.now());
+                completed(batch);
+                return;
+            }
+            var delay = backoff(attempt);
+            log.warn("Webhook delivery to {} failed ({}), retry {} in {} ms",
+                    endpoint.getName(), reason, attempt, delay);
+            scheduler.schedule(() -> send(batch, attempt + 1), delay, TimeUnit.MILLISECONDS);
+        }
+
+        // exponential backoff, jittered between half the initial delay and the current ceiling
+        private long backoff(int attempt) {
+            var initial = properties.getRetryInitialDelay().toMillis();
+            var cap = properties.getRetryMaxDelay().toMillis();
+            var ceiling = Math.min(cap, initial << Math.min(attempt - 1, 20));
+            return ThreadLocalRandom.current().nextLong(initial / 2, Math.max(ceiling, initial / 2 + 1));
+        }
+
+        private void completed(List<WebhookEvent> batch) {
+            outstanding.remove(batch);
+            inFlight.release();
+            if (!pending.isEmpty()) {
+                scheduler.execute(this::flush);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package hexlet.code.webhook;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Getter;
+
+import java.time.Instant;
+
+// id is "<outbox id>:<type>" ("<outbox id>:<task id>:<type>" for imports),
+// stable across redeliveries so receivers can deduplicate
+@Getter
+public class WebhookEvent {
+    private final String id;
+    private final WebhookEventType type;
+    private final Instant occurredAt;
+    private final JsonNode task;
+
+    // read back when a parked or unsent batch is requeued from the outbox
+    @JsonCreator
+    public WebhookEvent(@JsonProperty("id") String id, @JsonProperty("type") WebhookEventType type,
+                        @JsonProperty("occurredAt") Instant occurredAt, @JsonProperty("task") JsonNode task) {
+        this.id = id;
+        this.type = type;
+        this.occurredAt = occurredAt;
+        this.task = task;
+    }
+}
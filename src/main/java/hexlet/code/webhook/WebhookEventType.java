@@ -0,0 +1,16 @@
+package hexlet.code.webhook;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum WebhookEventType {
+    TASK_CREATED("task.created"),
+    TASK_STATUS_CHANGED("task.status_changed"),
+    TASK_ASSIGNED("task.assigned");
+
+    @JsonValue
+    private final String value;
+}
@@ -0,0 +1,41 @@
+package hexlet.code.webhook;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@ConfigurationProperties(prefix = "app.webhooks")
+@Getter
+@Setter
+public class WebhookProperties {
+    private List<Endpoint> endpoints = new ArrayList<>();
+    // events waiting per endpoint; beyond this the outbox message is rejected and relayed again later
+    private int queueCapacity = 10_000;
+    private int maxBatchSize = 100;
+    // how long to wait for more events before sending a batch
+    private Duration linger = Duration.ofMillis(200);
+    private Duration timeout = Duration.ofSeconds(10);
+    // a batch still failing after this many attempts is parked in the outbox
+    private int maxAttempts = 6;
+    private Duration retryInitialDelay = Duration.ofSeconds(1);
+    private Duration retryMaxDelay = Duration.ofMinutes(5);
+
+    @Getter
+    @Setter
+    public static class Endpoint {
+        private String name;
+        private URI url;
+        private Set<WebhookEventType> events = EnumSet.allOf(WebhookEventType.class);
+        // batches in flight to this endpoint at once
+        private int concurrency = 2;
+    }
+}
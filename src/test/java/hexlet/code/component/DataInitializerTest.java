@@ -0,0 +1,61 @@
+package hexlet.code.component;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class DataInitializerTest {
+
+    @Autowired
+    private DataInitializer dataInitializer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testSeedsOnceAndRecordsFingerprint() {
+        assertThat(count("SELECT count(*) FROM task_statuses WHERE slug = 'draft'")).isEqualTo(1);
+        assertThat(count("SELECT count(*) FROM labels WHERE name IN ('bug', 'feature')")).isEqualTo(2);
+        assertThat(count("SELECT count(*) FROM users WHERE email = 'hexlet@example.com'")).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT fingerprint FROM seed_state WHERE name = ?",
+                String.class, DataInitializer.SEED_NAME)).isEqualTo(DataInitializer.FINGERPRINT);
+    }
+
+    @Test
+    void testUnchangedFingerprintSkipsSeeding() {
+        jdbcTemplate.update("UPDATE seed_state SET applied_at = TIMESTAMP '2000-01-01 00:00:00'");
+
+        dataInitializer.run(new DefaultApplicationArguments());
+
+        assertThat(count("SELECT count(*) FROM seed_state WHERE applied_at > TIMESTAMP '2000-01-01 00:00:00'"))
+                .isZero();
+    }
+
+    @Test
+    void testReseedingIsIdempotent() {
+        var statuses = count("SELECT count(*) FROM task_statuses");
+        var users = count("SELECT count(*) FROM users");
+        jdbcTemplate.update("DELETE FROM seed_state");
+
+        dataInitializer.run(new DefaultApplicationArguments());
+        jdbcTemplate.update("DELETE FROM seed_state");
+        dataInitializer.run(new DefaultApplicationArguments());
+
+        assertThat(count("SELECT count(*) FROM task_statuses")).isEqualTo(statuses);
+        assertThat(count("SELECT count(*) FROM users")).isEqualTo(users);
+        assertThat(count("SELECT count(*) FROM seed_state")).isEqualTo(1);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,69 @@
+package hexlet.code.component;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "app.perf.users=200",
+    "app.perf.labels=20",
+    "app.perf.tasks=3000",
+    "app.perf.batch-size=250",
+    "app.perf.workers=3"
+})
+@ActiveProfiles({"test", "perf"})
+class PerfDataGeneratorTest {
+
+    @Autowired
+    private PerfDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testGeneratesConfiguredVolumes() throws Exception {
+        assertThat(count("SELECT count(*) FROM users WHERE email LIKE 'perf-%@example.com'")).isEqualTo(200);
+        assertThat(count("SELECT count(*) FROM labels WHERE name LIKE 'perf-label-%'")).isEqualTo(20);
+        assertThat(count("SELECT count(*) FROM tasks")).isEqualTo(3000);
+        assertThat(count("SELECT count(*) FROM task_labels")).isPositive();
+        assertThat(count("SELECT count(*) FROM task_changes")).isEqualTo(3000);
+
+        // a second run only tops up, and everything is already there
+        generator.run(new DefaultApplicationArguments());
+        assertThat(count("SELECT count(*) FROM users WHERE email LIKE 'perf-%@example.com'")).isEqualTo(200);
+        assertThat(count("SELECT count(*) FROM tasks")).isEqualTo(3000);
+    }
+
+    @Test
+    void testAssigneesAreSkewed() {
+        var busiest = count("""
+                SELECT max(c) FROM (SELECT count(*) AS c FROM tasks WHERE assignee_id IS NOT NULL
+                GROUP BY assignee_id) t""");
+        var assignees = count("SELECT count(DISTINCT assignee_id) FROM tasks");
+        var assigned = count("SELECT count(*) FROM tasks WHERE assignee_id IS NOT NULL");
+
+        assertThat(busiest).isGreaterThan(10 * assigned / assignees);
+    }
+
+    @Test
+    void testZipfSamplerFavoursLowRanks() {
+        var sampler = new PerfDataGenerator.ZipfSampler(100, 1.1);
+        var random = new Random(42);
+        var hits = new int[100];
+        for (int i = 0; i < 100_000; i++) {
+            hits[sampler.next(random)]++;
+        }
+        assertThat(hits[0]).isGreaterThan(hits[9]).isGreaterThan(hits[99]);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
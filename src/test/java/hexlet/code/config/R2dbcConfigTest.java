@@ -0,0 +1,35 @@
+package hexlet.code.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class R2dbcConfigTest {
+
+    @Test
+    void testExplicitUrlWins() {
+        var environment = new MockEnvironment()
+                .withProperty("spring.r2dbc.url", "r2dbc:h2:mem:///db")
+                .withProperty("spring.datasource.url", "jdbc:postgresql://host:5432/db");
+
+        assertThat(R2dbcConfig.resolveUrl(environment)).isEqualTo("r2dbc:h2:mem:///db");
+    }
+
+    @Test
+    void testDerivedFromPostgresJdbcUrl() {
+        var environment = new MockEnvironment()
+                .withProperty("spring.r2dbc.url", "")
+                .withProperty("spring.datasource.url", "jdbc:postgresql://host:5432/db?user=app&sslmode=require");
+
+        assertThat(R2dbcConfig.resolveUrl(environment))
+                .isEqualTo("r2dbc:postgresql://host:5432/db?user=app&sslMode=require");
+    }
+
+    @Test
+    void testAbsentWithoutUsableUrl() {
+        var environment = new MockEnvironment().withProperty("spring.datasource.url", "jdbc:h2:mem:db");
+
+        assertThat(R2dbcConfig.resolveUrl(environment)).isNull();
+    }
+}
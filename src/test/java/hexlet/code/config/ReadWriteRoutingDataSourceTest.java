@@ -0,0 +1,136 @@
+package hexlet.code.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("routing_primary");
+        replica = h2("routing_replica");
+        new JdbcTemplate(primary).execute("CREATE TABLE node (name VARCHAR(20)); INSERT INTO node VALUES ('primary')");
+        new JdbcTemplate(replica).execute("CREATE TABLE node (name VARCHAR(20)); INSERT INTO node VALUES ('replica')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        new JdbcTemplate(primary).execute("DROP TABLE node");
+        new JdbcTemplate(replica).execute("DROP TABLE node");
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToReplica() {
+        var dataSource = routing(Duration.ZERO);
+
+        assertThat(currentNode(dataSource, true)).isEqualTo("replica");
+        assertThat(currentNode(dataSource, false)).isEqualTo("primary");
+    }
+
+    @Test
+    void testReadYourWritesAfterWrite() {
+        var dataSource = routing(Duration.ofMinutes(1));
+
+        login("writer@example.com");
+        assertThat(currentNode(dataSource, true)).isEqualTo("replica");
+        assertThat(currentNode(dataSource, false)).isEqualTo("primary");
+        assertThat(currentNode(dataSource, true)).isEqualTo("primary");
+
+        login("reader@example.com");
+        assertThat(currentNode(dataSource, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void testRolledBackWriteKeepsReadsOnReplica() {
+        var dataSource = routing(Duration.ofMinutes(1));
+
+        login("writer@example.com");
+        var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.executeWithoutResult(status -> {
+            new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class);
+            status.setRollbackOnly();
+        });
+
+        assertThat(currentNode(dataSource, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void testExpiredWritersAreSwept() {
+        var now = new AtomicLong();
+        var clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(now.get());
+            }
+        };
+        var routing = new ReadWriteRoutingDataSource(primary, replica, Duration.ofMinutes(1), clock);
+        var dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        for (var user = 0; user < 10; user++) {
+            login("writer" + user + "@example.com");
+            currentNode(dataSource, false);
+        }
+        assertThat(routing.trackedUsers()).isEqualTo(10);
+
+        now.addAndGet(Duration.ofMinutes(2).toMillis());
+        login("late@example.com");
+        currentNode(dataSource, false);
+        assertThat(routing.trackedUsers()).isEqualTo(1);
+    }
+
+    private DataSource routing(Duration readYourWritesWindow) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, readYourWritesWindow));
+    }
+
+    private String currentNode(DataSource dataSource, boolean readOnly) {
+        var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        return transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private void login(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(email, null));
+    }
+
+    private static DataSource h2(String name) {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
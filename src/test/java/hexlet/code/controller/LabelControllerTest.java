@@ -279,4 +279,49 @@ class LabelControllerTest {
                         .content(objectMapper.writeValueAsString(labelCreateDTO)))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    @WithMockUser
+    void testSuggestLabels() throws Exception {
+        long alphaId = createLabelViaApi("Suggest-alpha");
+        createLabelViaApi("suggest-beta");
+        createLabelViaApi("unrelated");
+
+        mockMvc.perform(get("/api/labels/suggest?q=SUGGEST"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name").value("Suggest-alpha"))
+                .andExpect(jsonPath("$[1].name").value("suggest-beta"));
+
+        LabelUpdateDTO updateDTO = new LabelUpdateDTO();
+        updateDTO.setName(JsonNullable.of("renamed-alpha"));
+        mockMvc.perform(put("/api/labels/" + alphaId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDTO)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/labels/suggest?q=suggest"))
+                .andExpect(jsonPath("$", hasSize(1)));
+        mockMvc.perform(get("/api/labels/suggest?q=renamed"))
+                .andExpect(jsonPath("$[0].id").value(alphaId));
+
+        mockMvc.perform(delete("/api/labels/" + alphaId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/labels/suggest?q=renamed"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    private long createLabelViaApi(String name) throws Exception {
+        LabelCreateDTO createDTO = new LabelCreateDTO();
+        createDTO.setName(name);
+        String response = mockMvc.perform(post("/api/labels")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createDTO)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(response, LabelDTO.class).getId();
+    }
 }
@@ -0,0 +1,142 @@
+package hexlet.code.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+// the result printer would read headers while the stream is still being written
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@ActiveProfiles("test")
+class ReactiveTaskControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    private TaskStatus draftStatus;
+    private TaskStatus publishedStatus;
+    private Label bugLabel;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        taskStatusRepository.deleteAll();
+        labelRepository.deleteAll();
+
+        draftStatus = createStatus("Draft", "draft");
+        publishedStatus = createStatus("Published", "published");
+
+        bugLabel = new Label();
+        bugLabel.setName("bug");
+        bugLabel = labelRepository.save(bugLabel);
+    }
+
+    @Test
+    @WithMockUser
+    void testStreamAllTasks() throws Exception {
+        createTask("First", draftStatus, List.of(bugLabel));
+        createTask("Second", publishedStatus, List.of());
+
+        var tasks = stream("/api/reactive/tasks");
+
+        assertThat(tasks).extracting(TaskDTO::getTitle).containsExactly("First", "Second");
+        assertThat(tasks.get(0).getStatus()).isEqualTo("draft");
+        assertThat(tasks.get(0).getTaskLabelIds()).containsExactly(bugLabel.getId());
+        assertThat(tasks.get(1).getTaskLabelIds()).isEmpty();
+    }
+
+    @Test
+    @WithMockUser
+    void testStreamFilteredTasks() throws Exception {
+        createTask("Fix login bug", draftStatus, List.of(bugLabel));
+        createTask("Fix signup bug", publishedStatus, List.of(bugLabel));
+        createTask("Write docs", draftStatus, List.of());
+
+        assertThat(stream("/api/reactive/tasks?status=draft&titleCont=BUG"))
+                .extracting(TaskDTO::getTitle)
+                .containsExactly("Fix login bug");
+        assertThat(stream("/api/reactive/tasks?labelId=" + bugLabel.getId()))
+                .extracting(TaskDTO::getTitle)
+                .containsExactly("Fix login bug", "Fix signup bug");
+    }
+
+    @Test
+    void testStreamRequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/api/reactive/tasks"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private List<TaskDTO> stream(String url) throws Exception {
+        var result = mockMvc.perform(get(url).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return Arrays.stream(body.split("\n"))
+                .filter(line -> !line.isBlank())
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, TaskDTO.class);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+
+    private TaskStatus createStatus(String name, String slug) {
+        var taskStatus = new TaskStatus();
+        taskStatus.setName(name);
+        taskStatus.setSlug(slug);
+        return taskStatusRepository.save(taskStatus);
+    }
+
+    private void createTask(String title, TaskStatus status, List<Label> labels) {
+        var task = new Task();
+        task.setTitle(title);
+        task.setTaskStatus(status);
+        task.setLabels(labels);
+        taskRepository.save(task);
+    }
+}
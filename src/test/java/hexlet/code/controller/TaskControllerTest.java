@@ -4,16 +4,21 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskParamsDTO;
 import hexlet.code.dto.TaskUpdateDTO;
+import hexlet.code.event.ChangeType;
 import hexlet.code.mapper.TaskMapper;
 import hexlet.code.model.Label;
 import hexlet.code.model.Task;
+import hexlet.code.model.TaskChange;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.model.User;
 import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskChangeRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.service.impl.TaskChangeServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openapitools.jackson.nullable.JsonNullable;
@@ -28,16 +33,26 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -73,6 +88,12 @@ class TaskControllerTest {
     @Autowired
     private TransactionTemplate transactionTemplate;
 
+    @Autowired
+    private TaskChangeRepository taskChangeRepository;
+
+    @Autowired
+    private TaskChangeServiceImpl taskChangeService;
+
     private Label bugLabel;
     private Label featureLabel;
     private TaskStatus testStatus;
@@ -533,6 +554,430 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    // every filter combination returns exactly the intersection of the tasks each of its filters matches alone
+    @Test
+    @WithMockUser
+    void testFilterCombinationsMatchExpectedTasks() throws Exception {
+        var bugTask = createTestTask("Fix critical bug", 1, testStatus, testUser);
+        bugTask.setLabels(List.of(bugLabel, featureLabel));
+        taskRepository.save(bugTask);
+        var featureTask = createTestTask("Critical feature", 2, completedStatus, anotherUser);
+        featureTask.setLabels(List.of(featureLabel));
+        taskRepository.save(featureTask);
+        var docsTask = createTestTask("Critical docs", 3, testStatus, testUser);
+        docsTask.setLabels(List.of(bugLabel));
+        taskRepository.save(docsTask);
+        var minorTask = createTestTask("Minor bug", 4, testStatus, null);
+
+        // tasks matched by each filter on its own, a combination matches their intersection
+        var titleMatches = Set.of(bugTask.getId(), featureTask.getId(), docsTask.getId());
+        var assigneeMatches = Set.of(bugTask.getId(), featureTask.getId(), docsTask.getId());
+        var statusMatches = Set.of(bugTask.getId(), docsTask.getId(), minorTask.getId());
+        var anyLabelMatches = Set.of(bugTask.getId(), featureTask.getId(), docsTask.getId());
+        var allLabelMatches = Set.of(bugTask.getId());
+
+        for (var shape = 1; shape < 32; shape++) {
+            if ((shape & 16) != 0 && (shape & 8) == 0) {
+                continue;
+            }
+            var params = new TaskParamsDTO();
+            params.setTitleCont((shape & 1) != 0 ? "critical" : null);
+            params.setAssigneeIds((shape & 2) != 0 ? List.of(testUser.getId(), anotherUser.getId()) : null);
+            params.setStatuses((shape & 4) != 0 ? List.of("in_progress") : null);
+            params.setLabelIds((shape & 8) != 0 ? List.of(bugLabel.getId(), featureLabel.getId()) : null);
+            params.setLabelMatch((shape & 16) != 0 ? "all" : null);
+
+            var query = new StringBuilder("/api/tasks?page=1");
+            if (params.getTitleCont() != null) {
+                query.append("&titleCont=").append(params.getTitleCont());
+            }
+            if (params.getAssigneeIds() != null) {
+                query.append("&assigneeIds=").append(testUser.getId()).append(",").append(anotherUser.getId());
+            }
+            if (params.getStatuses() != null) {
+                query.append("&statuses=in_progress");
+            }
+            if (params.getLabelIds() != null) {
+                query.append("&labelIds=").append(bugLabel.getId()).append(",").append(featureLabel.getId());
+            }
+            if (params.getLabelMatch() != null) {
+                query.append("&labelMatch=").append(params.getLabelMatch());
+            }
+
+            var response = mockMvc.perform(get(query.toString()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse();
+            List<TaskDTO> tasks = objectMapper.readValue(response.getContentAsString(), new TypeReference<>() { });
+            var expectedIds = new TreeSet<>(List.of(bugTask.getId(), featureTask.getId(), docsTask.getId(),
+                    minorTask.getId()));
+            if ((shape & 1) != 0) {
+                expectedIds.retainAll(titleMatches);
+            }
+            if ((shape & 2) != 0) {
+                expectedIds.retainAll(assigneeMatches);
+            }
+            if ((shape & 4) != 0) {
+                expectedIds.retainAll(statusMatches);
+            }
+            if ((shape & 8) != 0) {
+                expectedIds.retainAll((shape & 16) != 0 ? allLabelMatches : anyLabelMatches);
+            }
+            var expected = List.copyOf(expectedIds);
+
+            assertThat(tasks).extracting(TaskDTO::getId).as("filters %d", shape).isEqualTo(expected);
+            assertThat(response.getHeader("X-Total-Count")).isEqualTo(String.valueOf(expected.size()));
+        }
+    }
+
+    @Test
+    @WithMockUser
+    void testFilterTasksByAnyOfLabels() throws Exception {
+        Task both = createTestTask("Both labels", 1, testStatus, testUser);
+        both.setLabels(List.of(bugLabel, featureLabel));
+        taskRepository.save(both);
+        Task bug = createTestTask("Bug only", 2, testStatus, testUser);
+        bug.setLabels(List.of(bugLabel));
+        taskRepository.save(bug);
+        createTestTask("No labels", 3, testStatus, testUser);
+
+        mockMvc.perform(get("/api/tasks?labelIds=" + bugLabel.getId() + "," + featureLabel.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title").value("Both labels"))
+                .andExpect(jsonPath("$[1].title").value("Bug only"));
+    }
+
+    @Test
+    @WithMockUser
+    void testFilterTasksByAllLabels() throws Exception {
+        Task both = createTestTask("Both labels", 1, testStatus, testUser);
+        both.setLabels(List.of(bugLabel, featureLabel));
+        taskRepository.save(both);
+        Task bug = createTestTask("Bug only", 2, testStatus, testUser);
+        bug.setLabels(List.of(bugLabel));
+        taskRepository.save(bug);
+
+        mockMvc.perform(get("/api/tasks?labelMatch=all&labelIds=" + bugLabel.getId()
+                        + "&labelIds=" + featureLabel.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Both labels"));
+    }
+
+    @Test
+    @WithMockUser
+    void testFilterTasksByAssigneeAndStatusLists() throws Exception {
+        createTestTask("Mine in progress", 1, testStatus, testUser);
+        createTestTask("Theirs completed", 2, completedStatus, anotherUser);
+        createTestTask("Unassigned", 3, testStatus, null);
+
+        mockMvc.perform(get("/api/tasks?assigneeIds=" + testUser.getId() + "," + anotherUser.getId()
+                        + "&statuses=in_progress,completed"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"));
+    }
+
+    @Test
+    @WithMockUser
+    void testFilterTasksRejectsUnknownLabelMatch() throws Exception {
+        mockMvc.perform(get("/api/tasks?labelIds=1&labelMatch=some"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void testExportTasksAsNdjson() throws Exception {
+        Task task = createTestTask("Exported task", 1, testStatus, testUser);
+        task.setLabels(List.of(bugLabel));
+        taskRepository.save(task);
+        createTestTask("Another task", 2, completedStatus, null);
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/export?format=ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(2);
+
+        TaskDTO exported = objectMapper.readValue(lines.get(0), TaskDTO.class);
+        assertThat(exported.getTitle()).isEqualTo("Exported task");
+        assertThat(exported.getStatus()).isEqualTo("in_progress");
+        assertThat(exported.getAssigneeId()).isEqualTo(testUser.getId());
+        assertThat(exported.getTaskLabelIds()).containsExactly(bugLabel.getId());
+    }
+
+    @Test
+    @WithMockUser
+    void testExportTasksAsCsv() throws Exception {
+        Task task = createTestTask("Title, with comma", 7, testStatus, testUser);
+        task.setLabels(List.of(bugLabel, featureLabel));
+        taskRepository.save(task);
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/export?format=csv"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=tasks.csv"))
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // the CSV columns are the NDJSON keys, in the same order
+        MvcResult ndjson = mockMvc.perform(get("/api/tasks/export?format=ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String line = mockMvc.perform(asyncDispatch(ndjson))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+                .lines()
+                .findFirst()
+                .orElseThrow();
+        List<String> keys = new ArrayList<>();
+        objectMapper.readTree(line).fieldNames().forEachRemaining(keys::add);
+        assertThat(keys).containsExactlyInAnyOrder(
+                "id", "title", "index", "content", "assignee_id", "status", "taskLabelIds", "createdAt");
+
+        Map<String, String> values = Map.of(
+                "id", task.getId().toString(),
+                "title", "\"Title, with comma\"",
+                "index", "7",
+                "content", "Test Description",
+                "assignee_id", testUser.getId().toString(),
+                "status", "in_progress",
+                "taskLabelIds", bugLabel.getId() + ";" + featureLabel.getId(),
+                "createdAt", task.getCreatedAt().toString());
+        assertThat(body.lines().toList()).containsExactly(
+                String.join(",", keys),
+                String.join(",", keys.stream().map(values::get).toList()));
+    }
+
+    @Test
+    @WithMockUser
+    void testExportWithUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/tasks/export?format=xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void testImportTasksFromCsv() throws Exception {
+        String csv = """
+                title,index,content,status,assignee_email,labels
+                "Imported, first",3,"Multi
+                line",in_progress,test@example.com,bug;feature
+                Imported second,,,completed,,
+                """;
+
+        mockMvc.perform(post("/api/tasks/import?format=csv")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(0));
+
+        List<Task> tasks = taskRepository.findAll();
+        assertThat(tasks).hasSize(2);
+
+        Task first = tasks.stream()
+                .filter(t -> t.getTitle().equals("Imported, first"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(first.getIndex()).isEqualTo(3);
+        assertThat(first.getContent()).isEqualTo("Multi\nline");
+        assertThat(first.getTaskStatus().getId()).isEqualTo(testStatus.getId());
+        assertThat(first.getAssignee().getId()).isEqualTo(testUser.getId());
+        assertThat(first.getLabels()).extracting(Label::getName).containsExactlyInAnyOrder("bug", "feature");
+    }
+
+    @Test
+    @WithMockUser
+    void testImportCsvWithUnterminatedQuoteReportsTheRow() throws Exception {
+        String csv = """
+                title,status
+                Kept,completed
+                "Never closed,completed
+                Swallowed,completed
+                """;
+
+        mockMvc.perform(post("/api/tasks/import?format=csv")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Unterminated quoted field"));
+
+        assertThat(taskRepository.findAll()).extracting(Task::getTitle).containsExactly("Kept");
+    }
+
+    @Test
+    @WithMockUser
+    void testImportTasksReportsRowErrors() throws Exception {
+        String ndjson = """
+                {"title":"Valid","status":"completed","labels":["bug"]}
+                {"title":"Bad status","status":"missing"}
+                not json
+                {"title":"Bad assignee","status":"completed","assignee_email":"nobody@example.com"}
+                """;
+
+        mockMvc.perform(post("/api/tasks/import?format=ndjson")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors", hasSize(3)))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Unknown status: missing"))
+                .andExpect(jsonPath("$.errors[1].row").value(3))
+                .andExpect(jsonPath("$.errors[2].message").value("Unknown assignee: nobody@example.com"));
+
+        assertThat(taskRepository.findByTitle("Valid")).isPresent();
+    }
+
+    @Test
+    @WithMockUser
+    void testImportTasksRetriesRejectedChunkRowByRow() throws Exception {
+        String ndjson = """
+                {"title":"No labels","status":"completed","labels":null}
+                null
+                {"title":"%s","status":"completed"}
+                {"title":"After the bad row","status":"completed"}
+                """.formatted("x".repeat(300));
+
+        mockMvc.perform(post("/api/tasks/import?format=ndjson")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[1].row").value(3));
+
+        assertThat(taskRepository.findByTitle("No labels")).isPresent();
+        assertThat(taskRepository.findByTitle("After the bad row")).isPresent();
+    }
+
+    @Test
+    @WithMockUser
+    void testStreamPushesMatchingChanges() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/tasks/stream?status=completed"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        for (String[] task : new String[][] {{"Not streamed", "in_progress"}, {"Streamed", "completed"}}) {
+            TaskCreateDTO taskCreateDTO = new TaskCreateDTO();
+            taskCreateDTO.setTitle(task[0]);
+            taskCreateDTO.setStatus(task[1]);
+            mockMvc.perform(post("/api/tasks")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(taskCreateDTO)))
+                    .andExpect(status().isCreated());
+        }
+
+        String events = awaitStreamContent(stream, "Streamed");
+        assertThat(events).contains("event:created");
+        assertThat(events).doesNotContain("Not streamed");
+
+        stream.getRequest().getAsyncContext().complete();
+    }
+
+    @Test
+    @WithMockUser
+    void testStreamResyncsOnReconnect() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/tasks/stream").header("Last-Event-ID", "42"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(awaitStreamContent(stream, "event:resync")).isNotEmpty();
+
+        stream.getRequest().getAsyncContext().complete();
+    }
+
+    @Test
+    @WithMockUser
+    void testGetChangesSinceToken() throws Exception {
+        long since = taskChangeService.getLatestToken();
+        TaskDTO kept = createTaskViaApi("Kept task");
+        TaskDTO removed = createTaskViaApi("Removed task");
+
+        mockMvc.perform(get("/api/tasks/changes?since=" + since))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed", hasSize(2)))
+                .andExpect(jsonPath("$.changed[0].title").value("Kept task"))
+                .andExpect(jsonPath("$.deleted", hasSize(0)))
+                .andExpect(jsonPath("$.hasMore").value(false));
+        long token = taskChangeService.getLatestToken();
+
+        TaskUpdateDTO updateDTO = new TaskUpdateDTO();
+        updateDTO.setTitle(JsonNullable.of("Kept and renamed"));
+        mockMvc.perform(put("/api/tasks/" + kept.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDTO)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/tasks/" + removed.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/tasks/changes?since=" + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed", hasSize(1)))
+                .andExpect(jsonPath("$.changed[0].title").value("Kept and renamed"))
+                .andExpect(jsonPath("$.deleted", hasSize(1)))
+                .andExpect(jsonPath("$.deleted[0]").value(removed.getId()))
+                .andExpect(jsonPath("$.token").value(taskChangeService.getLatestToken()));
+
+        mockMvc.perform(get("/api/tasks/changes?since=" + since + "&limit=1"))
+                .andExpect(jsonPath("$.changed", hasSize(1)))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    @WithMockUser
+    void testCompactionKeepsLatestChangesAndExpiresOldTombstones() throws Exception {
+        long since = taskChangeService.getLatestToken();
+        TaskDTO task = createTaskViaApi("Compacted task");
+        TaskUpdateDTO updateDTO = new TaskUpdateDTO();
+        updateDTO.setTitle(JsonNullable.of("Compacted and renamed"));
+        mockMvc.perform(put("/api/tasks/" + task.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDTO)))
+                .andExpect(status().isOk());
+
+        TaskChange tombstone = new TaskChange();
+        tombstone.setTaskId(Long.MAX_VALUE);
+        tombstone.setChangeType(ChangeType.DELETED);
+        tombstone.setChangedAt(Instant.now().minus(Duration.ofDays(60)));
+        taskChangeRepository.save(tombstone);
+        long tombstoneToken = taskChangeService.getLatestToken();
+
+        taskChangeService.compact();
+
+        assertThat(taskChangeRepository.findAll())
+                .filteredOn(change -> change.getTaskId().equals(task.getId()))
+                .hasSize(1);
+        mockMvc.perform(get("/api/tasks/changes?since=" + since))
+                .andExpect(status().isGone());
+        mockMvc.perform(get("/api/tasks/changes?since=" + tombstoneToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed", hasSize(0)));
+        mockMvc.perform(get("/api/tasks/changes?since=0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[?(@.title == 'Compacted and renamed')]").exists());
+    }
+
     private Task createTestTask(String title, Integer index, TaskStatus status, User assignee) {
         Task task = new Task();
         task.setTitle(title);
@@ -543,4 +988,29 @@ class TaskControllerTest {
         task.setCreatedAt(LocalDate.now());
         return taskRepository.save(task);
     }
+
+    private TaskDTO createTaskViaApi(String title) throws Exception {
+        TaskCreateDTO taskCreateDTO = new TaskCreateDTO();
+        taskCreateDTO.setTitle(title);
+        taskCreateDTO.setStatus("in_progress");
+        String response = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskCreateDTO)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(response, TaskDTO.class);
+    }
+
+    private String awaitStreamContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = stream.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = stream.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
 }
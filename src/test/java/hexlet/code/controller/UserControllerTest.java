@@ -36,6 +36,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -425,4 +426,130 @@ class UserControllerTest {
                         .content(objectMapper.writeValueAsString(authRequest)))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    @WithMockUser
+    void testGetUsersPage() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            createUser("page" + i + "@example.com");
+        }
+
+        mockMvc.perform(get("/api/users?_start=2&_end=4&_sort=email&_order=DESC"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "5"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].email").value("page3@example.com"))
+                .andExpect(jsonPath("$[1].email").value("page2@example.com"))
+                .andExpect(jsonPath("$[0].passwordDigest").doesNotExist());
+
+        mockMvc.perform(get("/api/users?_start=1&_end=4&_sort=email&_order=ASC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].email").value("page2@example.com"))
+                .andExpect(jsonPath("$[2].email").value("page4@example.com"));
+    }
+
+    @Test
+    @WithMockUser
+    void testGetUsersAfterCursor() throws Exception {
+        List<User> users = List.of(
+                createUser("cursor1@example.com"),
+                createUser("cursor2@example.com"),
+                createUser("cursor3@example.com"));
+
+        mockMvc.perform(get("/api/users?after=0&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", String.valueOf(users.get(1).getId())))
+                .andExpect(header().doesNotExist("X-Total-Count"))
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        mockMvc.perform(get("/api/users?after=" + users.get(1).getId() + "&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].email").value("cursor3@example.com"));
+    }
+
+    @Test
+    @WithMockUser
+    void testGetUsersWithInvalidPaging() throws Exception {
+        mockMvc.perform(get("/api/users?_start=0&_end=10&_sort=passwordDigest"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/users?page=1&size=0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void testSuggestUsers() throws Exception {
+        UserCreateDTO first = new UserCreateDTO();
+        first.setEmail("grace.suggest@example.com");
+        first.setFirstName("Grace");
+        first.setLastName("Hopperson");
+        first.setPassword("password");
+
+        UserCreateDTO second = new UserCreateDTO();
+        second.setEmail("alan.suggest@example.com");
+        second.setFirstName("Alan");
+        second.setLastName("Hopkinsworth");
+        second.setPassword("password");
+
+        for (UserCreateDTO user : List.of(first, second)) {
+            mockMvc.perform(post("/api/users")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(user)))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/api/users/suggest?q=hop&limit=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].email").value("alan.suggest@example.com"));
+
+        mockMvc.perform(get("/api/users/suggest?q=Grace.S"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].lastName").value("Hopperson"));
+
+        mockMvc.perform(get("/api/users/suggest?q=hop&limit=0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "recreated@example.com")
+    void testRecreateDeletedUserEmail() throws Exception {
+        UserCreateDTO userData = new UserCreateDTO();
+        userData.setEmail("recreated@example.com");
+        userData.setPassword("password");
+
+        String response = mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userData)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Long id = objectMapper.readValue(response, UserDTO.class).getId();
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userData)))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(delete("/api/users/" + id))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userData)))
+                .andExpect(status().isCreated());
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPasswordDigest(passwordEncoder.encode("password"));
+        user.setFirstName("First");
+        user.setLastName("Last");
+        return userRepository.save(user);
+    }
 }
@@ -0,0 +1,176 @@
+package hexlet.code.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.LabelCreateDTO;
+import hexlet.code.dto.LabelDTO;
+import hexlet.code.model.OutboxEvent;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.OutboxEventRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class OutboxRelayTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser
+    void testChangesAreRecordedAndRelayed() throws Exception {
+        LabelCreateDTO createDTO = new LabelCreateDTO();
+        createDTO.setName("outbox-label");
+        String response = mockMvc.perform(post("/api/labels")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createDTO)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Long labelId = objectMapper.readValue(response, LabelDTO.class).getId();
+
+        mockMvc.perform(delete("/api/labels/" + labelId))
+                .andExpect(status().isNoContent());
+
+        List<OutboxEvent> pending = outboxEventRepository.findAll();
+        assertThat(pending).extracting(OutboxEvent::getEventType).containsExactly("CREATED", "DELETED");
+        assertThat(pending).allSatisfy(event -> {
+            assertThat(event.getAggregateType()).isEqualTo("LABEL");
+            assertThat(event.getAggregateId()).isEqualTo(labelId);
+            assertThat(event.getPublishedAt()).isNull();
+        });
+        assertThat(pending.get(0).getPayload()).contains("\"name\":\"outbox-label\"");
+
+        outboxRelay.relay();
+
+        assertThat(applicationEvents.stream(OutboxMessage.class))
+                .extracting(OutboxMessage::getId)
+                .containsExactly(pending.get(0).getId(), pending.get(1).getId());
+        assertThat(outboxEventRepository.findAll()).allSatisfy(event ->
+                assertThat(event.getPublishedAt()).isNotNull());
+    }
+
+    @Test
+    void testRetriesOnlyFailedSinkAndParksAfterMaxAttempts() {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType("LABEL");
+        event.setAggregateId(1L);
+        event.setEventType("CREATED");
+        event.setPayload("{}");
+        event.setCreatedAt(Instant.now());
+        outboxEventRepository.save(event);
+
+        List<Long> accepted = new ArrayList<>();
+        OutboxSink workingSink = new OutboxSink() {
+            @Override
+            public void deliver(List<OutboxMessage> messages) {
+                messages.forEach(message -> accepted.add(message.getId()));
+            }
+
+            @Override
+            public String name() {
+                return "working";
+            }
+        };
+        OutboxSink failingSink = new OutboxSink() {
+            @Override
+            public void deliver(List<OutboxMessage> messages) throws Exception {
+                throw new IllegalStateException("receiver down");
+            }
+
+            @Override
+            public String name() {
+                return "failing";
+            }
+        };
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, List.of(workingSink, failingSink),
+                transactionTemplate, 100, Duration.ofDays(7), 2, Duration.ZERO);
+
+        relay.relay();
+        OutboxEvent afterFirstRun = outboxEventRepository.findById(event.getId()).orElseThrow();
+        assertThat(afterFirstRun.getPublishedAt()).isNull();
+        assertThat(afterFirstRun.getAttempts()).isEqualTo(1);
+        assertThat(afterFirstRun.getDeliveredTo()).isEqualTo("working");
+
+        relay.relay();
+        relay.relay();
+        assertThat(accepted).containsExactly(event.getId());
+        OutboxEvent parked = outboxEventRepository.findById(event.getId()).orElseThrow();
+        assertThat(parked.getAttempts()).isEqualTo(2);
+        assertThat(parked.getParkedAt()).isNotNull();
+        assertThat(parked.getPublishedAt()).isNull();
+    }
+
+    @Test
+    @WithMockUser
+    void testRolledBackChangeLeavesNoOutboxEvent() throws Exception {
+        TaskStatus taskStatus = new TaskStatus();
+        taskStatus.setName("Outbox status");
+        taskStatus.setSlug("outbox_status");
+        taskStatusRepository.save(taskStatus);
+
+        Task task = new Task();
+        task.setTitle("Blocks status deletion");
+        task.setTaskStatus(taskStatus);
+        taskRepository.save(task);
+
+        mockMvc.perform(delete("/api/task_statuses/" + taskStatus.getId()))
+                .andExpect(status().isConflict());
+
+        assertThat(outboxEventRepository.count()).isZero();
+        taskRepository.delete(task);
+        taskStatusRepository.delete(taskStatus);
+    }
+}
@@ -0,0 +1,146 @@
+package hexlet.code.sql;
+
+import hexlet.code.dto.SlowQueryDTO;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.util.JWTUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"app.slow-query.threshold=0ms", "app.slow-query.capacity=500"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SlowQueriesEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TaskStatus status;
+
+    @BeforeEach
+    void setUp() {
+        taskStatusRepository.deleteAll();
+        status = new TaskStatus();
+        status.setName("Review");
+        status.setSlug("review");
+        status.setCreatedAt(LocalDate.now());
+        status = taskStatusRepository.save(status);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testCapturesStatementWithPlan() throws Exception {
+        // statement text no other test runs, so the log has not kept a slower execution of it
+        jdbcTemplate.queryForList("select name from task_statuses where id = ? and slug = ?", String.class,
+                status.getId(), "review");
+
+        var plan = awaitPlan("select name from task_statuses where id");
+        assertThat(plan).containsIgnoringCase("select").doesNotContain("'review'");
+
+        mockMvc.perform(get("/actuator/slowqueries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.sql =~ /select name from task_statuses.*/)].bindShape[0]").value("Long"));
+    }
+
+    @Test
+    void testKeepsOnlyTheSlowest() {
+        var properties = new SlowQueryProperties();
+        properties.setCapacity(5);
+        var log = new SlowQueryLog(properties);
+        for (int i = 0; i < 10; i++) {
+            log.record("select " + i, i, List.of());
+        }
+        assertThat(log.getWorst())
+                .extracting(SlowQueryDTO::getSql)
+                .containsExactly("select 9", "select 8", "select 7", "select 6", "select 5");
+        log.shutdown();
+    }
+
+    @Test
+    void testPlanLiteralsAreMasked() {
+        assertThat(SlowQueryListener.redact(
+                "  Index Cond: ((email)::text = 'someone@example.com'::text)", true))
+                .isEqualTo("  Index Cond: ((email)::text = ?::text)");
+        assertThat(SlowQueryListener.redact("  Filter: ((index = 42) AND (id <> -7))", true))
+                .isEqualTo("  Filter: ((index = ?) AND (id <> ?))");
+        var scan = "Seq Scan on tasks t  (cost=0.00..1.05 rows=5 width=8) (actual time=0.010..0.011 rows=5 loops=1)";
+        assertThat(SlowQueryListener.redact(scan, true)).isEqualTo(scan);
+        assertThat(SlowQueryListener.redact("  Rows Removed by Filter: 12", true))
+                .isEqualTo("  Rows Removed by Filter: 12");
+        assertThat(SlowQueryListener.redact("WHERE \"T\".\"TITLE\" = 'secret' AND \"T\".\"ID\" = 5", false))
+                .isEqualTo("WHERE \"T\".\"TITLE\" = ? AND \"T\".\"ID\" = ?");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testCannotBeClearedOverHttp() throws Exception {
+        slowQueryLog.record("select 1", 1, List.of());
+        mockMvc.perform(delete("/actuator/slowqueries"));
+        assertThat(slowQueryLog.getWorst()).isNotEmpty();
+    }
+
+    @Test
+    void testRequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/slowqueries"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser
+    void testRequiresAdminRole() throws Exception {
+        mockMvc.perform(get("/actuator/slowqueries"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testAdminTokenIsAccepted() throws Exception {
+        var token = jwtUtils.generateToken("hexlet@example.com");
+        mockMvc.perform(get("/actuator/slowqueries").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/slowqueries")
+                        .header("Authorization", "Bearer " + jwtUtils.generateToken("someone@example.com")))
+                .andExpect(status().isForbidden());
+    }
+
+    private String awaitPlan(String sqlPart) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            var plan = slowQueryLog.getWorst().stream()
+                    .filter(query -> query.getSql().contains(sqlPart) && query.getPlan() != null)
+                    .map(SlowQueryDTO::getPlan)
+                    .findFirst();
+            if (plan.isPresent()) {
+                return plan.get();
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("No plan captured for " + sqlPart);
+    }
+}
@@ -0,0 +1,158 @@
+package hexlet.code.sql;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static hexlet.code.sql.SqlStatementMatchers.noStatementRepeatedMoreThan;
+import static hexlet.code.sql.SqlStatementMatchers.statementsAtMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.sql-budget.expose-header=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlBudgetTest {
+
+    private static final int TASKS = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlBudgetProperties properties;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        taskStatusRepository.deleteAll();
+        userRepository.deleteAll();
+        labelRepository.deleteAll();
+
+        var status = new TaskStatus();
+        status.setName("Draft");
+        status.setSlug("draft");
+        status.setCreatedAt(LocalDate.now());
+        taskStatusRepository.save(status);
+
+        var first = new Label();
+        first.setName("bug");
+        first.setCreatedAt(LocalDate.now());
+        var second = new Label();
+        second.setName("feature");
+        second.setCreatedAt(LocalDate.now());
+        labelRepository.save(first);
+        labelRepository.save(second);
+
+        for (int i = 0; i < TASKS; i++) {
+            var user = new User();
+            user.setEmail("budget" + i + "@example.com");
+            user.setPasswordDigest("digest");
+            user.setCreatedAt(LocalDate.now());
+            user.setUpdatedAt(LocalDate.now());
+            userRepository.save(user);
+
+            task = new Task();
+            task.setTitle("Task " + i);
+            task.setTaskStatus(status);
+            task.setAssignee(user);
+            task.setLabels(List.of(first, second));
+            taskRepository.save(task);
+        }
+    }
+
+    @Test
+    @WithMockUser
+    void testTaskListBudget() throws Exception {
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(3))
+                .andExpect(noStatementRepeatedMoreThan(1));
+    }
+
+    @Test
+    @WithMockUser
+    void testTaskPageBudget() throws Exception {
+        mockMvc.perform(get("/api/tasks?_start=0&_end=10"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(3))
+                .andExpect(noStatementRepeatedMoreThan(1));
+    }
+
+    @Test
+    @WithMockUser
+    void testTaskShowBudget() throws Exception {
+        mockMvc.perform(get("/api/tasks/" + task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1));
+    }
+
+    @Test
+    @WithMockUser
+    void testListBudgets() throws Exception {
+        mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(2));
+        mockMvc.perform(get("/api/labels"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1));
+        mockMvc.perform(get("/api/task_statuses"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1));
+    }
+
+    @Test
+    @WithMockUser
+    void testCountHeader() throws Exception {
+        mockMvc.perform(get("/api/tasks/" + task.getId()))
+                .andExpect(header().string(SqlBudgetFilter.COUNT_HEADER, "1"));
+    }
+
+    @Test
+    @WithMockUser
+    void testFailOnExceed() throws Exception {
+        properties.setFailOnExceed(true);
+        properties.setEndpoints(Map.of("GET /api/tasks/{id}", 0));
+        try {
+            mockMvc.perform(get("/api/tasks/" + task.getId()))
+                    .andExpect(status().isInternalServerError());
+            mockMvc.perform(get("/api/labels"))
+                    .andExpect(status().isOk());
+        } finally {
+            properties.setFailOnExceed(false);
+            properties.setEndpoints(Map.of());
+        }
+    }
+}
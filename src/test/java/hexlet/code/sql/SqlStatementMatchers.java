@@ -0,0 +1,31 @@
+package hexlet.code.sql;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Per-endpoint SQL budgets for MockMvc tests, read from the counts SqlBudgetFilter leaves on the request
+public final class SqlStatementMatchers {
+
+    private SqlStatementMatchers() {
+    }
+
+    public static ResultMatcher statementsAtMost(int max) {
+        return result -> assertThat(stats(result.getRequest().getAttribute(SqlBudgetFilter.STATS_ATTRIBUTE))
+                .getTotal())
+                .as("SQL statements")
+                .isLessThanOrEqualTo(max);
+    }
+
+    public static ResultMatcher noStatementRepeatedMoreThan(int maxRepeats) {
+        return result -> assertThat(stats(result.getRequest().getAttribute(SqlBudgetFilter.STATS_ATTRIBUTE))
+                .getRepeated(maxRepeats))
+                .as("statements repeated more than %d times", maxRepeats)
+                .isEmpty();
+    }
+
+    private static SqlStatementStats stats(Object attribute) {
+        assertThat(attribute).as("SQL statement stats").isInstanceOf(SqlStatementStats.class);
+        return (SqlStatementStats) attribute;
+    }
+}
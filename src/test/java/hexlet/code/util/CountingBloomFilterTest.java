@@ -0,0 +1,43 @@
+package hexlet.code.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountingBloomFilterTest {
+
+    @Test
+    void testAddedValuesAreAlwaysReported() {
+        var filter = new CountingBloomFilter(1_000, 0.01);
+        IntStream.range(0, 1_000).forEach(i -> filter.add("user" + i + "@example.com"));
+
+        assertThat(IntStream.range(0, 1_000))
+                .allMatch(i -> filter.mightContain("user" + i + "@example.com"));
+    }
+
+    @Test
+    void testFalsePositiveRateStaysNearTarget() {
+        var filter = new CountingBloomFilter(1_000, 0.01);
+        IntStream.range(0, 1_000).forEach(i -> filter.add("user" + i + "@example.com"));
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain("other" + i + "@example.com"))
+                .count();
+
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void testRemoveKeepsOtherValues() {
+        var filter = new CountingBloomFilter(100, 0.01);
+        filter.add("kept@example.com");
+        filter.add("removed@example.com");
+
+        filter.remove("removed@example.com");
+
+        assertThat(filter.mightContain("kept@example.com")).isTrue();
+        assertThat(filter.mightContain("removed@example.com")).isFalse();
+    }
+}
@@ -0,0 +1,47 @@
+package hexlet.code.warmup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "app.warm-up.iterations=3",
+    "app.warm-up.concurrency=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class WarmUpRunnerTest {
+
+    @Autowired
+    private WarmUpRunner warmUpRunner;
+
+    @Autowired
+    private WarmUpProperties properties;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testWarmsUpBeforeReportingReady() throws Exception {
+        var deadline = System.currentTimeMillis() + 30_000;
+        while (!warmUpRunner.isDone() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(warmUpRunner.isDone()).isTrue();
+        assertThat(warmUpRunner.getRequests()).isEqualTo(3L * properties.getPaths().size());
+        assertThat(warmUpRunner.getFailures()).isZero();
+
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+}
@@ -0,0 +1,274 @@
+package hexlet.code.webhook;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import hexlet.code.dto.TaskCreateDTO;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskUpdateDTO;
+import hexlet.code.model.OutboxEvent;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.outbox.OutboxMessage;
+import hexlet.code.outbox.OutboxRelay;
+import hexlet.code.repository.OutboxEventRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class WebhookDispatcherTest {
+
+    // a local receiver that fails the first request to exercise the retry path
+    private static final HttpServer RECEIVER = startReceiver();
+    private static final BlockingQueue<String> RECEIVED = new LinkedBlockingQueue<>();
+    private static final AtomicInteger FAILURES_LEFT = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @DynamicPropertySource
+    static void webhookProperties(DynamicPropertyRegistry registry) {
+        var url = "http://localhost:" + RECEIVER.getAddress().getPort() + "/hooks";
+        registry.add("app.webhooks.endpoints[0].name", () -> "stub");
+        registry.add("app.webhooks.endpoints[0].url", () -> url);
+        registry.add("app.webhooks.linger", () -> "50ms");
+        registry.add("app.webhooks.retry-initial-delay", () -> "20ms");
+    }
+
+    @AfterAll
+    static void stopReceiver() {
+        RECEIVER.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        taskStatusRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        RECEIVED.clear();
+
+        for (String slug : List.of("draft", "published")) {
+            TaskStatus taskStatus = new TaskStatus();
+            taskStatus.setName(slug);
+            taskStatus.setSlug(slug);
+            taskStatusRepository.save(taskStatus);
+        }
+    }
+
+    @Test
+    @WithMockUser
+    void testTaskLifecycleIsDeliveredInBatches() throws Exception {
+        FAILURES_LEFT.set(1);
+        TaskDTO first = createTask("First hooked task");
+        createTask("Second hooked task");
+
+        outboxRelay.relay();
+
+        JsonNode created = objectMapper.readTree(RECEIVED.poll(5, TimeUnit.SECONDS));
+        assertThat(created.get("events")).hasSize(2);
+        assertThat(created.get("events").findValuesAsText("type")).containsOnly("task.created");
+        assertThat(FAILURES_LEFT.get()).isZero();
+
+        TaskUpdateDTO updateDTO = new TaskUpdateDTO();
+        updateDTO.setStatus(JsonNullable.of("published"));
+        mockMvc.perform(put("/api/tasks/" + first.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDTO)))
+                .andExpect(status().isOk());
+
+        outboxRelay.relay();
+
+        JsonNode changed = objectMapper.readTree(RECEIVED.poll(5, TimeUnit.SECONDS));
+        assertThat(changed.get("events")).hasSize(1);
+        assertThat(changed.get("events").get(0).get("type").asText()).isEqualTo("task.status_changed");
+        assertThat(changed.get("events").get(0).get("task").get("status").asText()).isEqualTo("published");
+    }
+
+    @Test
+    @WithMockUser
+    void testImportedTasksAreDeliveredAsCreated() throws Exception {
+        String ndjson = """
+                {"title":"First imported","status":"draft"}
+                {"title":"Second imported","status":"draft"}
+                """;
+        mockMvc.perform(post("/api/tasks/import?format=ndjson")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk());
+
+        outboxRelay.relay();
+
+        JsonNode created = objectMapper.readTree(RECEIVED.poll(5, TimeUnit.SECONDS));
+        assertThat(created.get("events").findValuesAsText("type")).containsExactly("task.created", "task.created");
+        assertThat(created.get("events").findValuesAsText("title"))
+                .containsExactlyInAnyOrder("First imported", "Second imported");
+    }
+
+    @Test
+    void testUnreadablePayloadIsSkipped() {
+        OutboxEvent broken = new OutboxEvent();
+        broken.setAggregateType("TASK");
+        broken.setAggregateId(1L);
+        broken.setEventType("CREATED");
+        broken.setPayload("{not json");
+        broken.setCreatedAt(Instant.now());
+        outboxEventRepository.save(broken);
+
+        outboxRelay.relay();
+
+        assertThat(outboxEventRepository.findById(broken.getId()).orElseThrow().getPublishedAt()).isNotNull();
+    }
+
+    @Test
+    void testFullQueueRejectsTheMessage() {
+        var dispatcher = standaloneDispatcher(1, 6);
+        try {
+            dispatcher.onOutboxMessage(createdMessage(1L));
+            assertThatThrownBy(() -> dispatcher.onOutboxMessage(createdMessage(2L)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("full");
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void testUnsentEventsAreStoredOnShutdownAndDeliveredAfterwards() throws Exception {
+        var dispatcher = standaloneDispatcher(10, 6);
+        dispatcher.onOutboxMessage(createdMessage(41L));
+        dispatcher.shutdown();
+
+        var stored = webhookRows();
+        assertThat(stored).hasSize(1);
+        assertThat(stored.get(0).getParkedAt()).isNull();
+
+        outboxRelay.relay();
+
+        JsonNode delivered = objectMapper.readTree(RECEIVED.poll(5, TimeUnit.SECONDS));
+        assertThat(delivered.get("events")).hasSize(1);
+        assertThat(delivered.get("events").get(0).get("id").asText()).isEqualTo("41:task.created");
+    }
+
+    @Test
+    void testExhaustedBatchIsParked() throws Exception {
+        FAILURES_LEFT.set(1);
+        var dispatcher = standaloneDispatcher(10, 1);
+        try {
+            dispatcher.onOutboxMessage(createdMessage(42L));
+            for (int i = 0; i < 100 && webhookRows().isEmpty(); i++) {
+                Thread.sleep(50);
+            }
+        } finally {
+            dispatcher.shutdown();
+        }
+
+        var parked = webhookRows();
+        assertThat(parked).hasSize(1);
+        assertThat(parked.get(0).getParkedAt()).isNotNull();
+        assertThat(parked.get(0).getPayload()).contains("42:task.created");
+    }
+
+    // a dispatcher for the stub endpoint with its own limits, outside the application context
+    private WebhookDispatcher standaloneDispatcher(int queueCapacity, int maxAttempts) {
+        var endpoint = new WebhookProperties.Endpoint();
+        endpoint.setName("stub");
+        endpoint.setUrl(URI.create("http://localhost:" + RECEIVER.getAddress().getPort() + "/hooks"));
+        var properties = new WebhookProperties();
+        properties.setEndpoints(List.of(endpoint));
+        properties.setQueueCapacity(queueCapacity);
+        properties.setMaxAttempts(maxAttempts);
+        properties.setLinger(Duration.ofMillis(maxAttempts == 1 ? 10 : 60_000));
+        return new WebhookDispatcher(properties, objectMapper, null, outboxEventRepository, List.of());
+    }
+
+    private static OutboxMessage createdMessage(Long id) {
+        return new OutboxMessage(id, "TASK", id, "CREATED", "{\"task\":{\"id\":" + id + "}}", Instant.now());
+    }
+
+    private List<OutboxEvent> webhookRows() {
+        return outboxEventRepository.findAll().stream()
+                .filter(row -> WebhookDispatcher.AGGREGATE_TYPE.equals(row.getAggregateType()))
+                .toList();
+    }
+
+    private TaskDTO createTask(String title) throws Exception {
+        TaskCreateDTO taskCreateDTO = new TaskCreateDTO();
+        taskCreateDTO.setTitle(title);
+        taskCreateDTO.setStatus("draft");
+        String response = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskCreateDTO)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(response, TaskDTO.class);
+    }
+
+    private static HttpServer startReceiver() {
+        try {
+            var server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/hooks", exchange -> {
+                var body = new String(exchange.getRequestBody().readAllBytes());
+                if (FAILURES_LEFT.getAndUpdate(left -> Math.max(left - 1, 0)) > 0) {
+                    exchange.sendResponseHeaders(503, -1);
+                } else {
+                    RECEIVED.add(body);
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}